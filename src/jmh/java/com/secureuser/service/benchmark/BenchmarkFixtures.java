@@ -0,0 +1,122 @@
+package com.secureuser.service.benchmark;
+
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.dto.RedisEntry;
+import com.secureuser.service.dto.UserAuthorities;
+import com.secureuser.service.model.Tokens;
+import com.secureuser.service.model.Users;
+import com.secureuser.service.repository.TokensRepository;
+import com.secureuser.service.service.OutboxService;
+import com.secureuser.service.service.RedisService;
+import com.secureuser.service.service.RetryingTransactionExecutor;
+import com.secureuser.service.service.RoleService;
+import com.secureuser.service.utils.JwtUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-ins for the database and Redis; benchmarks built on them measure in-process cost only.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs512-signing-0123456789abcdef";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "algorithm", "HS512");
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    static Users user() {
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setLogin("benchmark-user");
+        return user;
+    }
+
+    static TokensRepository inMemoryTokensRepository(Map<UUID, Tokens> store) {
+        return (TokensRepository) Proxy.newProxyInstance(
+                TokensRepository.class.getClassLoader(),
+                new Class<?>[]{TokensRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> {
+                        Iterable<?> tokens = (Iterable<?>) args[0];
+                        tokens.forEach(token -> store.put(((Tokens) token).getJti(), (Tokens) token));
+                        yield tokens;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryTokensRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    static RedisService inMemoryRedisService(Map<String, String> store) {
+        return new RedisService(null) {
+            @Override
+            public boolean saveAllIfAbsent(List<RedisEntry> entries) {
+                entries.forEach(entry -> store.putIfAbsent(entry.getKey(), entry.getValue()));
+                return true;
+            }
+
+            @Override
+            public boolean exists(String key) {
+                return store.containsKey(key);
+            }
+
+            @Override
+            public void put(String key, String value, Duration ttl) {
+                store.put(key, value);
+            }
+
+            @Override
+            public List<String> getAll(List<String> keys) {
+                return keys.stream().map(store::get).toList();
+            }
+        };
+    }
+
+    static RoleService fixedRoleService() {
+        UserAuthorities authorities = new UserAuthorities(List.of("USER"), List.of(UUID.randomUUID()));
+        return new RoleService(null, null, null, null) {
+            @Override
+            public UserAuthorities getAuthorities(UUID userId) {
+                return authorities;
+            }
+        };
+    }
+
+    static OutboxService discardingOutboxService() {
+        return new OutboxService(null, null) {
+            @Override
+            public void recordAll(List<AuthEvent> events) {
+            }
+        };
+    }
+
+    static RetryingTransactionExecutor inlineTransactionExecutor() {
+        return new RetryingTransactionExecutor(null) {
+            @Override
+            public <T> T execute(Supplier<T> action) {
+                return action.get();
+            }
+        };
+    }
+
+    static Map<String, String> redisStore() {
+        return new ConcurrentHashMap<>();
+    }
+}
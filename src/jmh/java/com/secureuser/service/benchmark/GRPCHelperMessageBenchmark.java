@@ -0,0 +1,39 @@
+package com.secureuser.service.benchmark;
+
+import com.secureuser.service.proto.user.auth.AuthResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.secureuser.service.utils.GRPCHelperMessage.formulateAResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GRPCHelperMessageBenchmark {
+
+    @Benchmark
+    public AuthResponse formulateErrorResponse() {
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        formulateAResponse(401, "INVALID_CREDENTIALS", "Invalid credentials", responseBuilder);
+        return responseBuilder.build();
+    }
+
+    @Benchmark
+    public AuthResponse formulateStatusResponse() {
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        formulateAResponse(201, "CREATED", responseBuilder);
+        return responseBuilder.build();
+    }
+}
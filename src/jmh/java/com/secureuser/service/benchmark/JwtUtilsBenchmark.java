@@ -0,0 +1,69 @@
+package com.secureuser.service.benchmark;
+
+import com.secureuser.service.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String userId;
+    private String sessionId;
+    private String platformId;
+    private String signedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils();
+        userId = UUID.randomUUID().toString();
+        sessionId = UUID.randomUUID().toString();
+        platformId = UUID.randomUUID().toString();
+        signedToken = generateToken();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        Instant now = Instant.now();
+        return jwtUtils.generateToken(
+                Jwts.builder()
+                        .id(UUID.randomUUID().toString())
+                        .issuer("SecureUserService")
+                        .subject(userId)
+                        .claim("token_type", "ACCESS")
+                        .claim("session_id", sessionId)
+                        .audience().add("classmate-bot").and()
+                        .issuedAt(Date.from(now))
+                        .expiration(Date.from(now.plusSeconds(3600)))
+                        .claim("roles", List.of("USER"))
+                        .claim("platform_ids", List.of(platformId))
+        );
+    }
+
+    @Benchmark
+    public Jws<Claims> validateToken() {
+        return jwtUtils.validateToken(signedToken);
+    }
+}
@@ -0,0 +1,76 @@
+package com.secureuser.service.benchmark;
+
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.metrics.AuthMetrics;
+import com.secureuser.service.model.Tokens;
+import com.secureuser.service.model.Users;
+import com.secureuser.service.service.RevocationEpochService;
+import com.secureuser.service.service.TokenService;
+import com.secureuser.service.service.TokenWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process microbenchmark of token issuance and rotation: the repository and Redis are in-memory stubs, so the
+ * numbers cover signing and service logic only, not the database and Redis round-trips of a real deployment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TokenServiceInProcessBenchmark {
+
+    private final Map<UUID, Tokens> tokensStore = new ConcurrentHashMap<>();
+    private final Map<String, String> redisStore = BenchmarkFixtures.redisStore();
+
+    private TokenService tokenService;
+    private Users user;
+
+    @Setup
+    public void setUp() {
+        tokenService = new TokenService(
+                BenchmarkFixtures.jwtUtils(),
+                BenchmarkFixtures.inMemoryTokensRepository(tokensStore),
+                new RevocationEpochService(null, BenchmarkFixtures.inMemoryRedisService(redisStore)),
+                BenchmarkFixtures.fixedRoleService(),
+                new TokenWriteBehindQueue(null, null, null, null, null),
+                BenchmarkFixtures.discardingOutboxService(),
+                BenchmarkFixtures.inlineTransactionExecutor(),
+                new AuthMetrics(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(tokenService, "projectName", "SecureUserService");
+        ReflectionTestUtils.setField(tokenService, "expirationAccess", 3600L);
+        ReflectionTestUtils.setField(tokenService, "expirationRefresh", 86400L);
+        user = BenchmarkFixtures.user();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearStores() {
+        tokensStore.clear();
+        redisStore.clear();
+    }
+
+    @Benchmark
+    public TokenPair generateTokenPair() {
+        return tokenService.generateTokenPair(user, UUID.randomUUID());
+    }
+}
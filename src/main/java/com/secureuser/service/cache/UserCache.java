@@ -0,0 +1,167 @@
+package com.secureuser.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.secureuser.service.dto.CachedUser;
+import com.secureuser.service.dto.RedisEntry;
+import com.secureuser.service.service.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCache {
+
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${security.users.cache.max-size}")
+    private long maxSize;
+
+    @Value("${security.users.cache.ttl}")
+    private long ttl;
+
+    @Value("${security.users.cache.redis.enabled}")
+    private boolean redisEnabled;
+
+    @Value("${security.users.cache.redis.store-password-hashes}")
+    private boolean storePasswordHashes;
+
+    @Value("${security.users.cache.redis.ttl}")
+    private long redisTtl;
+
+    private Cache<String, CachedUser> localCache;
+    private boolean sharedTier;
+
+    @PostConstruct
+    public void init() {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttl))
+                .build();
+        this.sharedTier = redisEnabled && storePasswordHashes;
+        if (sharedTier) {
+            log.warn("Shared user cache tier is enabled: password hashes are stored in Redis for [{}] s, restrict access to that Redis accordingly", redisTtl);
+        } else if (redisEnabled) {
+            log.warn("Shared user cache tier stays off: it stores password hashes, set security.users.cache.redis.store-password-hashes to accept that");
+        }
+    }
+
+    public Optional<CachedUser> getByLogin(String login, Supplier<Optional<CachedUser>> loader) {
+        return get(loginKey(login), loader);
+    }
+
+    public Optional<CachedUser> getByEmail(String email, Supplier<Optional<CachedUser>> loader) {
+        return get(emailKey(email), loader);
+    }
+
+    public void invalidate(String login, String email) {
+        List<String> keys = List.of(loginKey(login), emailKey(email));
+        evict(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(keys);
+                }
+            });
+        }
+    }
+
+    private Optional<CachedUser> get(String key, Supplier<Optional<CachedUser>> loader) {
+        CachedUser cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedUser> shared = readRedis(key);
+        if (shared.isPresent()) {
+            putLocal(shared.get());
+            return shared;
+        }
+
+        Optional<CachedUser> loaded = loader.get();
+        loaded.ifPresent(user -> {
+            putLocal(user);
+            writeRedis(user);
+        });
+        return loaded;
+    }
+
+    private void putLocal(CachedUser user) {
+        localCache.put(loginKey(user.getLogin()), user);
+        localCache.put(emailKey(user.getEmail()), user);
+    }
+
+    private Optional<CachedUser> readRedis(String key) {
+        if (!sharedTier) {
+            return Optional.empty();
+        }
+        try {
+            return redisService.get(key).map(this::deserialize);
+        } catch (Exception e) {
+            log.warn("Failed to read user cache entry [{}] from Redis: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeRedis(CachedUser user) {
+        if (!sharedTier) {
+            return;
+        }
+        try {
+            String value = objectMapper.writeValueAsString(user);
+            Duration expiration = Duration.ofSeconds(redisTtl);
+            redisService.saveAllIfAbsent(List.of(
+                    new RedisEntry(loginKey(user.getLogin()), value, expiration),
+                    new RedisEntry(emailKey(user.getEmail()), value, expiration)
+            ));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize user cache entry for [{}]", user.getId(), e);
+        }
+    }
+
+    private void evict(List<String> keys) {
+        localCache.invalidateAll(keys);
+        if (!sharedTier) {
+            return;
+        }
+        try {
+            redisService.deleteAll(keys);
+        } catch (Exception e) {
+            log.warn("Failed to evict user cache entries {} from Redis: {}", keys, e.getMessage());
+        }
+    }
+
+    private CachedUser deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, CachedUser.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupted user cache entry", e);
+        }
+    }
+
+    private String loginKey(String login) {
+        return format("user:login:%s", login.toLowerCase(Locale.ROOT));
+    }
+
+    private String emailKey(String email) {
+        return format("user:email:%s", email.toLowerCase(Locale.ROOT));
+    }
+}
@@ -1,15 +1,45 @@
 package com.secureuser.service.config;
 
 import com.secureuser.service.grpc.AuthServiceImpl;
+import com.secureuser.service.grpc.BulkImportAuthInterceptor;
+import com.secureuser.service.grpc.LoginRateLimitInterceptor;
+import io.grpc.ServerInterceptors;
+import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
+@Slf4j
 public class GrpcServerConfig {
 
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreadsEnabled;
+
+    private ExecutorService virtualThreadExecutor;
+
     @Bean
-    public GrpcServerConfigurer serverConfigurer(AuthServiceImpl authServiceImpl) {
-        return serverBuilder -> serverBuilder.addService(authServiceImpl);
+    public GrpcServerConfigurer serverConfigurer(AuthServiceImpl authServiceImpl, LoginRateLimitInterceptor loginRateLimitInterceptor,
+                                                 BulkImportAuthInterceptor bulkImportAuthInterceptor) {
+        return serverBuilder -> {
+            serverBuilder.addService(ServerInterceptors.intercept(authServiceImpl, loginRateLimitInterceptor, bulkImportAuthInterceptor));
+            if (virtualThreadsEnabled) {
+                log.info("gRPC handlers run on virtual threads");
+                virtualThreadExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-vt-", 0).factory());
+                serverBuilder.executor(virtualThreadExecutor);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
     }
-}
\ No newline at end of file
+}
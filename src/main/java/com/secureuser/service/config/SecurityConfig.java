@@ -1,18 +1,31 @@
 package com.secureuser.service.config;
 
+import com.secureuser.service.utils.AdaptivePasswordEncoder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class SecurityConfig {
 
+    @Value("${security.password.algorithm}")
+    private String algorithm;
+
     @Value("${security.bcrypt.strength}")
     private int strength;
 
+    @Value("${security.argon2.memory}")
+    private int argon2Memory;
+
+    @Value("${security.argon2.iterations}")
+    private int argon2Iterations;
+
+    @Value("${security.argon2.parallelism}")
+    private int argon2Parallelism;
+
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(strength);
+    public PasswordEncoder passwordEncoder() {
+        return new AdaptivePasswordEncoder(algorithm, strength, argon2Memory, argon2Iterations, argon2Parallelism);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,5 @@
+package com.secureuser.service.constants;
+
+public enum AuthEventType {
+    USER_REGISTERED, USER_VERIFIED, TOKENS_ISSUED
+}
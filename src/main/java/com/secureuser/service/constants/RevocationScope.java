@@ -0,0 +1,5 @@
+package com.secureuser.service.constants;
+
+public enum RevocationScope {
+    SESSION, USER
+}
@@ -0,0 +1,41 @@
+package com.secureuser.service.controller;
+
+import com.secureuser.service.utils.JwtUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    @Value("${spring.security.jwt.jwks.max-age}")
+    private long maxAge;
+
+    private final JwtUtils jwtUtils;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks(WebRequest request) {
+        List<Map<String, Object>> keys = jwtUtils.getPublicJwks();
+        String etag = "\"" + Integer.toHexString(keys.hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge))
+                        .cachePublic()
+                        .staleWhileRevalidate(Duration.ofSeconds(maxAge))
+                        .staleIfError(Duration.ofDays(1)))
+                .eTag(etag)
+                .body(Map.of("keys", keys));
+    }
+}
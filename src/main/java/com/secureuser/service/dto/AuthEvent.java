@@ -0,0 +1,30 @@
+package com.secureuser.service.dto;
+
+import com.secureuser.service.constants.AuthEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class AuthEvent {
+
+    private AuthEventType type;
+    private UUID userId;
+    private Map<String, Object> payload;
+
+    public static AuthEvent userRegistered(UUID userId, String login, String email) {
+        return new AuthEvent(AuthEventType.USER_REGISTERED, userId, Map.of("login", login, "email", email));
+    }
+
+    public static AuthEvent userVerified(UUID userId, String login) {
+        return new AuthEvent(AuthEventType.USER_VERIFIED, userId, Map.of("login", login));
+    }
+
+    public static AuthEvent tokensIssued(UUID userId, UUID sessionId, LocalDateTime issuedAt) {
+        return new AuthEvent(AuthEventType.TOKENS_ISSUED, userId, Map.of("sessionId", sessionId, "issuedAt", issuedAt));
+    }
+}
@@ -0,0 +1,30 @@
+package com.secureuser.service.dto;
+
+import com.secureuser.service.model.Users;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedUser {
+
+    private UUID id;
+    private String login;
+    private String email;
+    private String password;
+    private boolean verified;
+
+    public static CachedUser from(Users user) {
+        return new CachedUser(
+                user.getId(),
+                user.getLogin(),
+                user.getEmail(),
+                user.getPassword(),
+                Boolean.TRUE.equals(user.getIsVerified())
+        );
+    }
+}
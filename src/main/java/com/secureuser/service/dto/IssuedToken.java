@@ -0,0 +1,52 @@
+package com.secureuser.service.dto;
+
+import com.secureuser.service.model.Tokens;
+import com.secureuser.service.model.Users;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuedToken {
+
+    private UUID jti;
+    private UUID userId;
+    private UUID sessionId;
+    private String tokenType;
+    private String token;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    public static IssuedToken from(Tokens token) {
+        return new IssuedToken(
+                token.getJti(),
+                token.getOwner().getId(),
+                token.getSessionId(),
+                token.getTokenType(),
+                token.getToken(),
+                token.getCreatedAt(),
+                token.getExpiresAt()
+        );
+    }
+
+    public Tokens toEntity() {
+        Users owner = new Users();
+        owner.setId(userId);
+
+        Tokens entity = new Tokens();
+        entity.setJti(jti);
+        entity.setOwner(owner);
+        entity.setSessionId(sessionId);
+        entity.setTokenType(tokenType);
+        entity.setToken(token);
+        entity.setRevoked(false);
+        entity.setCreatedAt(createdAt);
+        entity.setExpiresAt(expiresAt);
+        return entity;
+    }
+}
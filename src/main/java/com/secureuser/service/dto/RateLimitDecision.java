@@ -0,0 +1,20 @@
+package com.secureuser.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class RateLimitDecision {
+
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(null, Duration.ZERO);
+
+    private String scope;
+    private Duration retryAfter;
+
+    public boolean isAllowed() {
+        return scope == null;
+    }
+}
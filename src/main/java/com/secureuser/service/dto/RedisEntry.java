@@ -0,0 +1,15 @@
+package com.secureuser.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+@AllArgsConstructor
+public class RedisEntry {
+
+    private String key;
+    private String value;
+    private Duration ttl;
+}
@@ -0,0 +1,12 @@
+package com.secureuser.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TokenPair {
+
+    private TokenObject accessToken;
+    private TokenObject refreshToken;
+}
@@ -0,0 +1,15 @@
+package com.secureuser.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+public class UserAuthorities {
+
+    private List<String> roles;
+    private List<UUID> platformIds;
+}
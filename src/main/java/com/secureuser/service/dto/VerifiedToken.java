@@ -0,0 +1,25 @@
+package com.secureuser.service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+    private String token;
+    private String tokenId;
+    private String userId;
+    private String sessionId;
+    private Instant issuedAt;
+    private Instant expiresAt;
+    private List<String> roles;
+    private List<String> platformIds;
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+}
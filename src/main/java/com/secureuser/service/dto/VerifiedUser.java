@@ -0,0 +1,10 @@
+package com.secureuser.service.dto;
+
+import java.util.UUID;
+
+public interface VerifiedUser {
+
+    UUID getId();
+
+    String getEmail();
+}
@@ -1,41 +1,80 @@
 package com.secureuser.service.grpc;
 
 import com.secureuser.service.exception.DatabaseOperationException;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.proto.user.auth.AuthResponse;
 import com.secureuser.service.proto.user.auth.AuthServiceGrpc;
+import com.secureuser.service.proto.user.auth.BatchValidateTokenRequest;
+import com.secureuser.service.proto.user.auth.BatchValidateTokenResponse;
+import com.secureuser.service.proto.user.auth.BulkRegisterRequest;
+import com.secureuser.service.proto.user.auth.BulkRegisterResponse;
 import com.secureuser.service.proto.user.auth.LoginRequest;
+import com.secureuser.service.proto.user.auth.PlatformLoginRequest;
 import com.secureuser.service.proto.user.auth.RefreshTokenRequest;
 import com.secureuser.service.proto.user.auth.RegisterRequest;
+import com.secureuser.service.proto.user.auth.ValidateTokenRequest;
+import com.secureuser.service.proto.user.auth.ValidateTokenResponse;
+import com.secureuser.service.service.BulkRegistrationService;
 import com.secureuser.service.service.LoginService;
+import com.secureuser.service.service.PasswordHashingExecutor;
+import com.secureuser.service.service.PlatformLoginService;
 import com.secureuser.service.service.RegistrationConfirmationService;
 import com.secureuser.service.service.TokenService;
+import com.secureuser.service.service.TokenValidationService;
 import com.secureuser.service.service.UsersService;
+import io.grpc.Status;
 import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.validator.routines.EmailValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.secureuser.service.utils.GRPCHelperMessage.formulateAResponse;
+import static com.secureuser.service.utils.GRPCHelperMessage.httpStatusOf;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
 
+    private static final long SATURATION_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final UsersService usersService;
     private final RegistrationConfirmationService registrationConfirmationService;
     private final LoginService loginService;
+    private final PlatformLoginService platformLoginService;
     private final TokenService tokenService;
+    private final TokenValidationService tokenValidationService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BulkRegistrationService bulkRegistrationService;
+    private final AuthMetrics authMetrics;
+
+    @Value("${logging.rpc-summary.sample-rate}")
+    private double summarySampleRate;
+
+    private final AtomicLong saturationRejections = new AtomicLong();
+    private final AtomicLong lastSaturationWarning = new AtomicLong(System.nanoTime() - SATURATION_WARNING_INTERVAL_NANOS);
 
     @Override
-    public void register(RegisterRequest request, StreamObserver<AuthResponse> response) {
+    public void register(RegisterRequest request, StreamObserver<AuthResponse> responseObserver) {
+        StreamObserver<AuthResponse> response = metered("register", responseObserver);
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
-        if (request.getLogin().isBlank() || request.getPassword().isBlank() || !EmailValidator.getInstance().isValid(request.getEmail())) {
+        if (request.getLogin().isBlank() || UsersService.isEmail(request.getLogin()) || request.getPassword().isBlank()
+                || !EmailValidator.getInstance().isValid(request.getEmail())) {
             formulateAResponse(
                     HttpResponseStatus.BAD_REQUEST.code(),
                     "BAD_REQUEST",
@@ -47,20 +86,23 @@ public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
             return;
         }
 
-        if (usersService.existsByLoginOrEmail(request.getLogin(), request.getEmail())) {
-            formulateAResponse(
-                    HttpResponseStatus.CONFLICT.code(),
-                    "USER_ALREADY_EXISTS",
-                    "Incorrectly filled data in the request",
-                    responseBuilder
-            );
-
-            sendErrorMessage(responseBuilder, response);
-            return;
-        }
+        runHashingCall(() -> completeRegistration(request, response), response);
+    }
 
+    private void completeRegistration(RegisterRequest request, StreamObserver<AuthResponse> response) {
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         try {
-            usersService.save(request.getLogin(), request.getEmail(), request.getPassword());
+            if (!usersService.save(request.getLogin(), request.getEmail(), request.getPassword())) {
+                formulateAResponse(
+                        HttpResponseStatus.CONFLICT.code(),
+                        "USER_ALREADY_EXISTS",
+                        "Incorrectly filled data in the request",
+                        responseBuilder
+                );
+
+                sendErrorMessage(responseBuilder, response);
+                return;
+            }
 
             formulateAResponse(
                     HttpResponseStatus.CREATED.code(),
@@ -89,7 +131,8 @@ public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
     }
 
     @Override
-    public void login(LoginRequest request, StreamObserver<AuthResponse> response) {
+    public void login(LoginRequest request, StreamObserver<AuthResponse> responseObserver) {
+        StreamObserver<AuthResponse> response = metered("login", responseObserver);
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         if (request.getLogin().isBlank() || request.getPassword().isBlank()) {
 
@@ -104,7 +147,12 @@ public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
             return;
         }
 
-        log.info("Attempting login: {}", request.getLogin());
+        log.debug("Attempting login: {}", request.getLogin());
+        runHashingCall(() -> completeLogin(request, response), response);
+    }
+
+    private void completeLogin(LoginRequest request, StreamObserver<AuthResponse> response) {
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         UUID sessionId = UUID.randomUUID();
         loginService.authenticationWithEmail(request.getLogin(), request.getPassword(), sessionId, responseBuilder);
 
@@ -113,7 +161,29 @@ public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
     }
 
     @Override
-    public void refreshToken(RefreshTokenRequest request, StreamObserver<AuthResponse> response) {
+    public void loginWithPlatform(PlatformLoginRequest request, StreamObserver<AuthResponse> responseObserver) {
+        StreamObserver<AuthResponse> response = metered("loginWithPlatform", responseObserver);
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        if (request.getPlatform().isBlank() || request.getPlatformKey().isBlank() || request.getPlatformUserId().isBlank()) {
+            formulateAResponse(
+                    HttpResponseStatus.BAD_REQUEST.code(),
+                    "BAD_REQUEST",
+                    "Incorrectly filled data in the request",
+                    responseBuilder
+            );
+            sendErrorMessage(responseBuilder, response);
+            return;
+        }
+
+        platformLoginService.authenticate(request.getPlatform(), request.getPlatformKey(), request.getPlatformUserId(), UUID.randomUUID(), responseBuilder);
+
+        response.onNext(responseBuilder.build());
+        response.onCompleted();
+    }
+
+    @Override
+    public void refreshToken(RefreshTokenRequest request, StreamObserver<AuthResponse> responseObserver) {
+        StreamObserver<AuthResponse> response = metered("refreshToken", responseObserver);
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         if (request.getRefreshToken().isBlank()) {
 
@@ -127,17 +197,177 @@ public class AuthServiceImpl extends AuthServiceGrpc.AuthServiceImplBase {
             return;
         }
 
-        log.info("Refresh token start");
         tokenService.refreshToken(request.getRefreshToken(), responseBuilder);
-        log.info("Refresh token end");
 
         response.onNext(responseBuilder.build());
         response.onCompleted();
     }
 
+    @Override
+    public void validateToken(ValidateTokenRequest request, StreamObserver<ValidateTokenResponse> response) {
+        response.onNext(tokenValidationService.validate(request.getAccessToken()));
+        response.onCompleted();
+    }
+
+    @Override
+    public void batchValidateToken(BatchValidateTokenRequest request, StreamObserver<BatchValidateTokenResponse> response) {
+        if (request.getAccessTokensCount() > tokenValidationService.getMaxBatchSize()) {
+            response.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Batch exceeds the maximum of " + tokenValidationService.getMaxBatchSize() + " tokens")
+                    .asRuntimeException());
+            return;
+        }
+        response.onNext(tokenValidationService.validateAll(request.getAccessTokensList()));
+        response.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<BulkRegisterRequest> bulkRegister(StreamObserver<BulkRegisterResponse> response) {
+        if (!bulkRegistrationService.isEnabled()) {
+            response.onError(Status.PERMISSION_DENIED.withDescription("Bulk registration is disabled").asRuntimeException());
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(BulkRegisterRequest value) {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+
+        ServerCallStreamObserver<BulkRegisterResponse> call = response instanceof ServerCallStreamObserver<BulkRegisterResponse> observer ? observer : null;
+        if (call != null) {
+            call.disableAutoRequest();
+            call.request(1);
+        }
+        return new StreamObserver<>() {
+            private final List<BulkRegisterRequest> chunk = new ArrayList<>(bulkRegistrationService.getChunkSize());
+            private long received;
+            private int chunks;
+            private boolean failed;
+
+            @Override
+            public void onNext(BulkRegisterRequest value) {
+                if (failed) {
+                    return;
+                }
+                if (received >= bulkRegistrationService.getMaxUsersPerStream()) {
+                    failed = true;
+                    log.warn("Bulk registration stream exceeded [{}] users, aborting", bulkRegistrationService.getMaxUsersPerStream());
+                    response.onError(Status.INVALID_ARGUMENT
+                            .withDescription("Stream exceeds the maximum of " + bulkRegistrationService.getMaxUsersPerStream() + " users")
+                            .asRuntimeException());
+                    return;
+                }
+                chunk.add(value);
+                received++;
+                if (chunk.size() >= bulkRegistrationService.getChunkSize()) {
+                    flush();
+                }
+                if (!failed && call != null) {
+                    call.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Bulk registration stream aborted by client after [{}] users: {}", received, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                flush();
+                if (!failed) {
+                    response.onCompleted();
+                    log.info("Bulk registration finished: [{}] users in [{}] chunks", received, chunks);
+                }
+            }
+
+            private void flush() {
+                if (failed || chunk.isEmpty()) {
+                    return;
+                }
+                try {
+                    response.onNext(bulkRegistrationService.importChunk(chunks++, received - chunk.size(), List.copyOf(chunk)));
+                    chunk.clear();
+                } catch (RuntimeException e) {
+                    failed = true;
+                    log.error("Unexpected error while importing users: {}", e.getMessage(), e);
+                    response.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+                }
+            }
+        };
+    }
+
+    private StreamObserver<AuthResponse> metered(String rpc, StreamObserver<AuthResponse> response) {
+        Timer.Sample sample = authMetrics.startRpc();
+        long startedAt = System.nanoTime();
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(AuthResponse value) {
+                authMetrics.recordRpc(sample, rpc, value.getMessageCode());
+                logSummary(rpc, value.getStatusCode(), value.getMessageCode(), startedAt,
+                        value.getStatusCode() >= HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+                response.onNext(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                Status.Code code = Status.fromThrowable(t).getCode();
+                authMetrics.recordRpc(sample, rpc, code.name());
+                logSummary(rpc, httpStatusOf(code), code.name(), startedAt, code == Status.Code.INTERNAL || code == Status.Code.UNKNOWN);
+                response.onError(t);
+            }
+
+            @Override
+            public void onCompleted() {
+                response.onCompleted();
+            }
+        };
+    }
+
+    private void logSummary(String rpc, int statusCode, String messageCode, long startedAt, boolean always) {
+        if (!always && (!log.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= summarySampleRate)) {
+            return;
+        }
+        log.info("rpc={} status={} code={} durationMs={}", rpc, statusCode, messageCode,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void runHashingCall(Runnable call, StreamObserver<AuthResponse> response) {
+        try {
+            call.run();
+        } catch (RejectedExecutionException e) {
+            warnSaturated();
+            response.onError(Status.RESOURCE_EXHAUSTED.withDescription("Server is busy, retry later").asRuntimeException());
+        } catch (CancellationException e) {
+            log.info("Call cancelled while waiting for the password hashing executor");
+        } catch (RuntimeException e) {
+            log.error("Unexpected error while processing a password hashing call: {}", e.getMessage(), e);
+            response.onError(Status.INTERNAL.withDescription("Internal server error").asRuntimeException());
+        }
+    }
+
+    private void warnSaturated() {
+        saturationRejections.incrementAndGet();
+        long now = System.nanoTime();
+        long last = lastSaturationWarning.get();
+        if (now - last >= SATURATION_WARNING_INTERVAL_NANOS && lastSaturationWarning.compareAndSet(last, now)) {
+            log.warn("Password hashing executor is saturated, queue depth [{}], [{}] calls rejected since the last warning",
+                    passwordHashingExecutor.getQueueDepth(), saturationRejections.getAndSet(0));
+        }
+    }
+
     private void sendErrorMessage(AuthResponse.Builder responseBuilder, StreamObserver<AuthResponse> response) {
         AuthResponse result = responseBuilder.build();
-        log.info("Sending error response: [{} - {}] {}", result.getStatusCode(), result.getMessageCode(), result.getError().getErrorMessage());
+        if (log.isDebugEnabled()) {
+            log.debug("Sending error response: [{} - {}] {}", result.getStatusCode(), result.getMessageCode(), result.getError().getErrorMessage());
+        }
         response.onNext(result);
         response.onCompleted();
     }
@@ -0,0 +1,38 @@
+package com.secureuser.service.grpc;
+
+import com.secureuser.service.proto.user.auth.AuthServiceGrpc;
+import com.secureuser.service.utils.SecretHashes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class BulkImportAuthInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> OPERATOR_KEY = Metadata.Key.of("x-operator-key", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Value("${security.bulk-import.operator-key-hash}")
+    private String operatorKeyHash;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        if (!AuthServiceGrpc.getBulkRegisterMethod().getFullMethodName().equals(call.getMethodDescriptor().getFullMethodName())) {
+            return next.startCall(call, headers);
+        }
+
+        if (!SecretHashes.matches(operatorKeyHash, headers.get(OPERATOR_KEY))) {
+            log.warn("Rejected BulkRegister call from [{}] with a missing or invalid operator key", call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+            call.close(Status.UNAUTHENTICATED.withDescription("Invalid operator credentials"), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        return next.startCall(call, headers);
+    }
+}
@@ -0,0 +1,84 @@
+package com.secureuser.service.grpc;
+
+import com.secureuser.service.dto.RateLimitDecision;
+import com.secureuser.service.proto.user.auth.AuthServiceGrpc;
+import com.secureuser.service.proto.user.auth.LoginRequest;
+import com.secureuser.service.service.LoginRateLimiter;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
+@Component
+@RequiredArgsConstructor
+public class LoginRateLimitInterceptor implements ServerInterceptor {
+
+    static final Metadata.Key<String> RETRY_PUSHBACK = Metadata.Key.of("grpc-retry-pushback-ms", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final int IPV6_PREFIX_BYTES = 8;
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        ServerCall.Listener<ReqT> listener = next.startCall(call, headers);
+        if (!AuthServiceGrpc.getLoginMethod().getFullMethodName().equals(call.getMethodDescriptor().getFullMethodName())) {
+            return listener;
+        }
+
+        String peer = peerAddress(call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR));
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            private boolean rejected;
+
+            @Override
+            public void onMessage(ReqT message) {
+                RateLimitDecision decision = loginRateLimiter.tryAcquire(peer, ((LoginRequest) message).getLogin());
+                if (decision.isAllowed()) {
+                    super.onMessage(message);
+                    return;
+                }
+
+                rejected = true;
+                Metadata trailers = new Metadata();
+                trailers.put(RETRY_PUSHBACK, String.valueOf(decision.getRetryAfter().toMillis()));
+                call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many login attempts, retry later"), trailers);
+            }
+
+            @Override
+            public void onHalfClose() {
+                if (!rejected) {
+                    super.onHalfClose();
+                }
+            }
+        };
+    }
+
+    static String peerAddress(SocketAddress remote) {
+        if (!(remote instanceof InetSocketAddress inet) || inet.getAddress() == null) {
+            return String.valueOf(remote);
+        }
+        InetAddress address = inet.getAddress();
+        if (address instanceof Inet6Address) {
+            byte[] bytes = address.getAddress();
+            Arrays.fill(bytes, IPV6_PREFIX_BYTES, bytes.length, (byte) 0);
+            try {
+                return InetAddress.getByAddress(bytes).getHostAddress() + "/64";
+            } catch (UnknownHostException e) {
+                return address.getHostAddress();
+            }
+        }
+        return address.getHostAddress();
+    }
+}
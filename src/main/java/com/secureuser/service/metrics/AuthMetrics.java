@@ -0,0 +1,59 @@
+package com.secureuser.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample startRpc() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordRpc(Timer.Sample sample, String rpc, String messageCode) {
+        sample.stop(Timer.builder("auth.rpc.duration")
+                .description("Latency of auth RPCs by outcome")
+                .tag("rpc", rpc)
+                .tag("message_code", messageCode)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        Counter.builder("auth.rpc.outcomes")
+                .description("Auth RPC outcomes by message code")
+                .tag("rpc", rpc)
+                .tag("message_code", messageCode)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordThrottledLogin(String scope) {
+        Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public <T> T timeBcrypt(String operation, Supplier<T> action) {
+        return time("auth.bcrypt.duration", "operation", operation, action);
+    }
+
+    public <T> T timeJwtSigning(String tokenType, Supplier<T> action) {
+        return time("auth.jwt.signing.duration", "token_type", tokenType, action);
+    }
+
+    private <T> T time(String name, String tagKey, String tagValue, Supplier<T> action) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(action);
+    }
+}
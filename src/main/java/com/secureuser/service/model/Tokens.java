@@ -28,6 +28,9 @@ public class Tokens {
     @Column(name = "token")
     private String token;
 
+    @Column(name = "jti", nullable = false, updatable = false)
+    private UUID jti;
+
     @Column(name = "revoked")
     private Boolean revoked;
 
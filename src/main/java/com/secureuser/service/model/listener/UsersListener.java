@@ -1,16 +1,25 @@
 package com.secureuser.service.model.listener;
 
+import com.secureuser.service.cache.UserCache;
 import com.secureuser.service.model.Users;
 import jakarta.persistence.PostRemove;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
 
 @Slf4j
 public class UsersListener {
 
+    private UserCache userCache;
+
+    @Autowired
+    public void setUserCache(UserCache userCache) {
+        this.userCache = userCache;
+    }
+
     @PrePersist
     public void beforeCreate(Users users) {
         LocalDateTime now = LocalDateTime.now();
@@ -19,17 +28,25 @@ public class UsersListener {
         if (users.getIsVerified() == null) {
             users.setIsVerified(false);
         }
-        log.info("Creating user with login: {}", users.getLogin());
+        log.debug("Creating user with login: {}", users.getLogin());
     }
 
     @PreUpdate
     public void beforeUpdate(Users users) {
         users.setUpdatedAt(LocalDateTime.now());
-        log.info("Updating user with login: {}", users.getLogin());
+        invalidateCache(users);
+        log.debug("Updating user with login: {}", users.getLogin());
     }
 
     @PostRemove
     public void afterRemove(Users users) {
-        log.info("User removed with login: {}", users.getLogin());
+        invalidateCache(users);
+        log.debug("User removed with login: {}", users.getLogin());
+    }
+
+    private void invalidateCache(Users users) {
+        if (userCache != null && users.getLogin() != null && users.getEmail() != null) {
+            userCache.invalidate(users.getLogin(), users.getEmail());
+        }
     }
 }
\ No newline at end of file
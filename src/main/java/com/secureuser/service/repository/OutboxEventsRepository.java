@@ -0,0 +1,23 @@
+package com.secureuser.service.repository;
+
+import com.secureuser.service.model.OutboxEvents;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventsRepository extends JpaRepository<OutboxEvents, Long> {
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockRelay(@Param("key") long key);
+
+    @Query(value = """
+            SELECT *
+            FROM outbox_events
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvents> lockNextBatch(@Param("batchSize") int batchSize);
+}
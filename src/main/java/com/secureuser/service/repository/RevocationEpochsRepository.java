@@ -0,0 +1,43 @@
+package com.secureuser.service.repository;
+
+import com.secureuser.service.model.RevocationEpochs;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RevocationEpochsRepository extends JpaRepository<RevocationEpochs, RevocationEpochs.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO revocation_epochs (scope, subject_id, revoked_before, expires_at)
+            VALUES (:scope, :subjectId, :revokedBefore, :expiresAt)
+            ON CONFLICT (scope, subject_id) DO UPDATE
+            SET revoked_before = GREATEST(revocation_epochs.revoked_before, EXCLUDED.revoked_before),
+                expires_at = GREATEST(revocation_epochs.expires_at, EXCLUDED.expires_at)
+            """, nativeQuery = true)
+    int upsert(@Param("scope") String scope,
+               @Param("subjectId") UUID subjectId,
+               @Param("revokedBefore") LocalDateTime revokedBefore,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("""
+            SELECT max(e.revokedBefore) FROM RevocationEpochs e
+            WHERE (e.scope = 'SESSION' AND e.subjectId = :sessionId)
+               OR (e.scope = 'USER' AND e.subjectId = :userId)
+            """)
+    Optional<LocalDateTime> findLatestRevokedBefore(@Param("userId") UUID userId, @Param("sessionId") UUID sessionId);
+
+    List<RevocationEpochs> findAllByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevocationEpochs e WHERE e.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
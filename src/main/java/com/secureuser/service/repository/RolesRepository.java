@@ -0,0 +1,9 @@
+package com.secureuser.service.repository;
+
+import com.secureuser.service.model.Roles;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface RolesRepository extends JpaRepository<Roles, UUID> {
+}
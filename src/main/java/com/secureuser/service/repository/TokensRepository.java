@@ -2,11 +2,49 @@ package com.secureuser.service.repository;
 
 import com.secureuser.service.model.Tokens;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface TokensRepository extends JpaRepository<Tokens, UUID> {
 
-    Optional<Tokens> findByToken(String token);
-}
\ No newline at end of file
+    Optional<Tokens> findByJti(UUID jti);
+
+    @Modifying
+    @Query("UPDATE Tokens t SET t.revoked = true WHERE t.jti = :jti AND t.revoked = false")
+    int revokeByJti(@Param("jti") UUID jti);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO tokens (user_id, token, jti, revoked, created_at, expires_at, token_type, session_id)
+            VALUES (:userId, :token, :jti, true, :createdAt, :expiresAt, :tokenType, :sessionId)
+            ON CONFLICT (jti, expires_at) DO NOTHING
+            """, nativeQuery = true)
+    int insertRevokedIfAbsent(@Param("userId") UUID userId,
+                              @Param("token") String token,
+                              @Param("jti") UUID jti,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("expiresAt") LocalDateTime expiresAt,
+                              @Param("tokenType") String tokenType,
+                              @Param("sessionId") UUID sessionId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM tokens
+            WHERE (id, expires_at) IN (
+                SELECT id, expires_at
+                FROM tokens
+                WHERE expires_at < :cutoff
+                   OR (revoked = true AND created_at < :cutoff)
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteExpiredOrRevoked(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
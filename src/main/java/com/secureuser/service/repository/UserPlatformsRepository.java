@@ -0,0 +1,19 @@
+package com.secureuser.service.repository;
+
+import com.secureuser.service.model.UserPlatforms;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface UserPlatformsRepository extends JpaRepository<UserPlatforms, UUID> {
+
+    @Query("SELECT up.platform.id FROM UserPlatforms up WHERE up.user.id = :userId")
+    List<UUID> findPlatformIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT up.user.id FROM UserPlatforms up WHERE up.platform.id = :platformId AND up.platformUserId = :platformUserId")
+    Optional<UUID> findUserId(@Param("platformId") UUID platformId, @Param("platformUserId") String platformUserId);
+}
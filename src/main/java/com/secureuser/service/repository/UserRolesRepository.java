@@ -0,0 +1,15 @@
+package com.secureuser.service.repository;
+
+import com.secureuser.service.model.UserRoles;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface UserRolesRepository extends JpaRepository<UserRoles, UUID> {
+
+    @Query("SELECT ur.role.id FROM UserRoles ur WHERE ur.user.id = :userId")
+    List<UUID> findRoleIdsByUserId(@Param("userId") UUID userId);
+}
@@ -1,7 +1,11 @@
 package com.secureuser.service.repository;
 
+import com.secureuser.service.dto.VerifiedUser;
 import com.secureuser.service.model.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +21,30 @@ public interface UsersRepository extends JpaRepository<Users, UUID> {
     Optional<Users> findByLoginOrEmail(String login, String email);
 
     boolean existsByLoginOrEmail(String login, String email);
+
+    @Query(value = """
+            UPDATE users
+            SET is_verified = true, updated_at = now()
+            WHERE lower(login) = :login
+            RETURNING id, email
+            """, nativeQuery = true)
+    Optional<VerifiedUser> markVerified(@Param("login") String login);
+
+    @Query("SELECT u FROM Users u WHERE lower(u.login) = :login")
+    Optional<Users> findByLowerLogin(@Param("login") String login);
+
+    @Query("SELECT u FROM Users u WHERE lower(u.email) = :email")
+    Optional<Users> findByLowerEmail(@Param("email") String email);
+
+    @Modifying
+    @Query(value = "UPDATE users SET password = :newHash, updated_at = now() WHERE id = :id AND password = :oldHash", nativeQuery = true)
+    int updatePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    @Query(value = """
+            INSERT INTO users (email, login, password, is_verified, created_at, updated_at)
+            VALUES (:email, :login, :password, false, now(), now())
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    Optional<UUID> insertIfAbsent(@Param("email") String email, @Param("login") String login, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.metrics.AuthMetrics;
+import com.secureuser.service.proto.user.auth.BulkRegisterFailure;
+import com.secureuser.service.proto.user.auth.BulkRegisterRequest;
+import com.secureuser.service.proto.user.auth.BulkRegisterResponse;
+import com.secureuser.service.proto.user.auth.Error;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.validator.routines.EmailValidator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkRegistrationService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO users (email, login, password, is_verified, created_at, updated_at)
+            SELECT email, login, password, is_verified, now(), now()
+            FROM unnest(?, ?, ?, ?) AS imported(email, login, password, is_verified)
+            ON CONFLICT DO NOTHING
+            RETURNING id, login, email
+            """;
+    private static final Pattern PASSWORD_HASH = Pattern.compile(
+            "^(\\{bcrypt})?\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$|^\\{argon2}\\$argon2id\\$v=\\d+\\$m=\\d+,t=\\d+,p=\\d+\\$[A-Za-z0-9+/]+\\$[A-Za-z0-9+/]+$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder encoder;
+    private final OutboxService outboxService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final AuthMetrics authMetrics;
+
+    @Value("${security.bulk-import.enabled}")
+    private boolean enabled;
+
+    @Value("${security.bulk-import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${security.bulk-import.max-users-per-stream}")
+    private long maxUsersPerStream;
+
+    @Value("${security.bulk-import.hashing-threads}")
+    private int hashingThreads;
+
+    private ExecutorService hashingPool;
+
+    @PostConstruct
+    public void init() {
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Bulk registration hashing pool started with [{}] threads", threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getMaxUsersPerStream() {
+        return maxUsersPerStream;
+    }
+
+    public BulkRegisterResponse importChunk(int chunk, long firstIndex, List<BulkRegisterRequest> users) {
+        BulkRegisterResponse.Builder response = BulkRegisterResponse.newBuilder()
+                .setChunk(chunk)
+                .setFirstIndex(firstIndex)
+                .setReceived(users.size());
+
+        List<Integer> accepted = new ArrayList<>();
+        Set<String> seenLogins = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            BulkRegisterRequest user = users.get(i);
+            if (!isValid(user)) {
+                response.addFailures(failure(firstIndex + i, user, "BAD_REQUEST"));
+                continue;
+            }
+            boolean newLogin = seenLogins.add(user.getLogin().toLowerCase(Locale.ROOT));
+            boolean newEmail = seenEmails.add(user.getEmail().toLowerCase(Locale.ROOT));
+            if (newLogin && newEmail) {
+                accepted.add(i);
+            } else {
+                response.addFailures(failure(firstIndex + i, user, "USER_ALREADY_EXISTS"));
+            }
+        }
+        int rejected = response.getFailuresCount();
+
+        try {
+            List<BulkRegisterRequest> toInsert = accepted.stream().map(users::get).toList();
+            Set<String> created = insertAll(toInsert, hashAll(toInsert));
+            for (int i : accepted) {
+                if (!created.contains(users.get(i).getLogin().toLowerCase(Locale.ROOT))) {
+                    response.addFailures(failure(firstIndex + i, users.get(i), "USER_ALREADY_EXISTS"));
+                }
+            }
+            log.info("Bulk registration chunk [{}]: received [{}], created [{}], rejected [{}]", chunk, users.size(), created.size(), rejected);
+            return response.setStatusCode(HttpResponseStatus.OK.code())
+                    .setMessageCode(HttpResponseStatus.OK.reasonPhrase())
+                    .setCreated(created.size())
+                    .setSkipped(accepted.size() - created.size())
+                    .setRejected(rejected)
+                    .build();
+        } catch (DataAccessException e) {
+            log.error("Bulk registration chunk [{}] failed: {}", chunk, e.getMessage(), e);
+            return response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code())
+                    .setMessageCode("INTERNAL_SERVER_ERROR")
+                    .setRejected(rejected)
+                    .setError(Error.newBuilder().setErrorMessage("The chunk was not saved, it can be resent as is").build())
+                    .build();
+        }
+    }
+
+    private List<String> hashAll(List<BulkRegisterRequest> users) {
+        List<CompletableFuture<String>> hashes = users.stream()
+                .map(user -> user.getPasswordHash().isEmpty()
+                        ? CompletableFuture.supplyAsync(() -> authMetrics.timeBcrypt("encode", () -> encoder.encode(user.getPassword())), hashingPool)
+                        : CompletableFuture.completedFuture(user.getPasswordHash()))
+                .toList();
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    private Set<String> insertAll(List<BulkRegisterRequest> users, List<String> passwords) {
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+        return retryingTransactionExecutor.execute(() -> {
+            Set<String> created = new HashSet<>();
+            List<AuthEvent> events = jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_SQL);
+                ps.setArray(1, connection.createArrayOf("text", users.stream().map(BulkRegisterRequest::getEmail).toArray()));
+                ps.setArray(2, connection.createArrayOf("text", users.stream().map(BulkRegisterRequest::getLogin).toArray()));
+                ps.setArray(3, connection.createArrayOf("text", passwords.toArray()));
+                ps.setArray(4, connection.createArrayOf("boolean", users.stream().map(BulkRegisterRequest::getVerified).toArray()));
+                return ps;
+            }, (rs, rowNum) -> {
+                String login = rs.getString("login");
+                created.add(login.toLowerCase(Locale.ROOT));
+                return AuthEvent.userRegistered(rs.getObject("id", UUID.class), login, rs.getString("email"));
+            });
+            outboxService.recordAll(events);
+            return created;
+        });
+    }
+
+    private boolean isValid(BulkRegisterRequest user) {
+        boolean hasCredentials = user.getPasswordHash().isEmpty()
+                ? !user.getPassword().isBlank()
+                : user.getPassword().isEmpty() && PASSWORD_HASH.matcher(user.getPasswordHash()).matches();
+        return hasCredentials
+                && !user.getLogin().isBlank()
+                && !UsersService.isEmail(user.getLogin())
+                && EmailValidator.getInstance().isValid(user.getEmail());
+    }
+
+    private BulkRegisterFailure failure(long index, BulkRegisterRequest user, String messageCode) {
+        return BulkRegisterFailure.newBuilder()
+                .setIndex(index)
+                .setLogin(user.getLogin())
+                .setMessageCode(messageCode)
+                .build();
+    }
+}
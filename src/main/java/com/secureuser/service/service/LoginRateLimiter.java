@@ -0,0 +1,185 @@
+package com.secureuser.service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.secureuser.service.dto.RateLimitDecision;
+import com.secureuser.service.metrics.AuthMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginRateLimiter {
+
+    public static final String IP_SCOPE = "ip";
+    public static final String ACCOUNT_SCOPE = "account";
+
+    private static final String KEY_PREFIX = "rate-limit:login:";
+    private static final int MAX_IDENTIFIER_LENGTH = 320;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SLIDING_WINDOW = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            for i = 1, #KEYS do
+                redis.call('ZREMRANGEBYSCORE', KEYS[i], '-inf', now - window)
+                if redis.call('ZCARD', KEYS[i]) >= tonumber(ARGV[2 + i]) then
+                    local oldest = redis.call('ZRANGE', KEYS[i], 0, 0, 'WITHSCORES')
+                    return {i, tonumber(oldest[2]) + window - now}
+                end
+            end
+            for i = 1, #KEYS do
+                redis.call('ZADD', KEYS[i], now, ARGV[2])
+                redis.call('PEXPIRE', KEYS[i], window)
+            end
+            return {0, 0}
+            """, List.class);
+
+    private final RedisService redisService;
+    private final AuthMetrics authMetrics;
+
+    @Value("${security.rate-limit.login.enabled}")
+    private boolean enabled;
+
+    @Value("${security.rate-limit.login.local.ip-capacity}")
+    private long ipCapacity;
+
+    @Value("${security.rate-limit.login.local.ip-refill-per-minute}")
+    private long ipRefillPerMinute;
+
+    @Value("${security.rate-limit.login.local.account-capacity}")
+    private long accountCapacity;
+
+    @Value("${security.rate-limit.login.local.account-refill-per-minute}")
+    private long accountRefillPerMinute;
+
+    @Value("${security.rate-limit.login.local.max-keys}")
+    private long maxKeys;
+
+    @Value("${security.rate-limit.login.cluster.enabled}")
+    private boolean clusterEnabled;
+
+    @Value("${security.rate-limit.login.cluster.window}")
+    private long clusterWindow;
+
+    @Value("${security.rate-limit.login.cluster.ip-limit}")
+    private long clusterIpLimit;
+
+    @Value("${security.rate-limit.login.cluster.account-limit}")
+    private long clusterAccountLimit;
+
+    private Cache<String, TokenBucket> buckets;
+
+    @PostConstruct
+    public void init() {
+        long fullRefillMinutes = Math.max(
+                Math.ceilDiv(ipCapacity, Math.max(1, ipRefillPerMinute)),
+                Math.ceilDiv(accountCapacity, Math.max(1, accountRefillPerMinute)));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(Math.max(1, fullRefillMinutes)))
+                .build();
+    }
+
+    public RateLimitDecision tryAcquire(String peer, String login) {
+        if (!enabled) {
+            return RateLimitDecision.ALLOWED;
+        }
+
+        String account = normalize(login);
+        long now = System.nanoTime();
+        long ipWait = bucket(IP_SCOPE, peer, ipCapacity, ipRefillPerMinute, now).tryConsume(now);
+        if (ipWait > 0) {
+            return reject(IP_SCOPE, Duration.ofNanos(ipWait));
+        }
+        if (account != null) {
+            long accountWait = bucket(ACCOUNT_SCOPE, account, accountCapacity, accountRefillPerMinute, now).tryConsume(now);
+            if (accountWait > 0) {
+                return reject(ACCOUNT_SCOPE, Duration.ofNanos(accountWait));
+            }
+        }
+
+        return clusterEnabled ? tryAcquireInCluster(peer, account) : RateLimitDecision.ALLOWED;
+    }
+
+    private RateLimitDecision tryAcquireInCluster(String peer, String account) {
+        List<String> keys = new ArrayList<>(2);
+        List<String> args = new ArrayList<>(4);
+        keys.add(KEY_PREFIX + IP_SCOPE + ":" + peer);
+        args.add(String.valueOf(TimeUnit.SECONDS.toMillis(clusterWindow)));
+        args.add(UUID.randomUUID().toString());
+        args.add(String.valueOf(clusterIpLimit));
+        if (account != null) {
+            keys.add(KEY_PREFIX + ACCOUNT_SCOPE + ":" + account);
+            args.add(String.valueOf(clusterAccountLimit));
+        }
+
+        try {
+            List<?> result = redisService.execute(SLIDING_WINDOW, keys, args);
+            int exceeded = ((Number) result.get(0)).intValue();
+            if (exceeded == 0) {
+                return RateLimitDecision.ALLOWED;
+            }
+            return reject(exceeded == 1 ? IP_SCOPE : ACCOUNT_SCOPE, Duration.ofMillis(((Number) result.get(1)).longValue()));
+        } catch (RuntimeException e) {
+            log.warn("Cluster-wide login rate limit is unavailable, relying on local buckets: {}", e.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+    }
+
+    private RateLimitDecision reject(String scope, Duration retryAfter) {
+        log.debug("Login attempt throttled by [{}] limit, retry after [{}] ms", scope, retryAfter.toMillis());
+        authMetrics.recordThrottledLogin(scope);
+        return new RateLimitDecision(scope, retryAfter);
+    }
+
+    private TokenBucket bucket(String scope, String subject, long capacity, long refillPerMinute, long now) {
+        return buckets.get(scope + ":" + subject, key -> new TokenBucket(capacity, refillPerMinute, now));
+    }
+
+    private static String normalize(String login) {
+        if (login == null || login.isBlank()) {
+            return null;
+        }
+        String account = login.strip().toLowerCase(Locale.ROOT);
+        return account.length() > MAX_IDENTIFIER_LENGTH ? account.substring(0, MAX_IDENTIFIER_LENGTH) : account;
+    }
+
+    private static final class TokenBucket {
+
+        private final long capacity;
+        private final double nanosPerToken;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(long capacity, long refillPerMinute, long now) {
+            this.capacity = capacity;
+            this.nanosPerToken = (double) TimeUnit.MINUTES.toNanos(1) / Math.max(1, refillPerMinute);
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        private synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerToken);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+    }
+}
@@ -1,20 +1,21 @@
 package com.secureuser.service.service;
 
-import com.secureuser.service.constants.JWTokenType;
-import com.secureuser.service.dto.TokenObject;
-import com.secureuser.service.model.Users;
+import com.secureuser.service.dto.CachedUser;
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.proto.user.auth.AuthResponse;
 import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.secureuser.service.utils.GRPCHelperMessage.formulateAResponse;
+import static com.secureuser.service.utils.GRPCHelperMessage.formulateTokenResponse;
 
 @Service
 @RequiredArgsConstructor
@@ -23,56 +24,67 @@ public class LoginService {
 
     @Value("${spring.user.registration.require-verification}")
     private boolean isRequireVerification;
+    @Value("${security.password.rehash-on-login}")
+    private boolean rehashOnLogin;
     private final UsersService usersService;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final TokenService tokenService;
+    private final AuthMetrics authMetrics;
 
     public void authenticationWithEmail(String loginOrEmail, String password, UUID sessionId, AuthResponse.Builder responseBuilder) {
-        Optional<Users> usersOptional = findUserByLoginOrEmail(loginOrEmail, responseBuilder);
+        Optional<CachedUser> usersOptional = findUserByLoginOrEmail(loginOrEmail, responseBuilder);
         if (usersOptional.isEmpty()) {
             return;
         }
 
-        Users user = usersOptional.get();
+        CachedUser user = usersOptional.get();
         if (!checkAccountConfirmation(user, responseBuilder)) {
             return;
         }
-        log.info("Check password");
-        if (encoder.matches(password, user.getPassword())) {
-            log.info("Password matches");
-            TokenObject accessJWT = tokenService.generateToken(user, JWTokenType.ACCESS, sessionId);
-            TokenObject refreshJWT = tokenService.generateToken(user, JWTokenType.REFRESH, sessionId);
-            responseBuilder.setStatusCode(HttpResponseStatus.OK.code());
-            responseBuilder.setMessageCode(HttpResponseStatus.OK.reasonPhrase());
-            responseBuilder.setAccessToken(accessJWT.getToken());
-            responseBuilder.setRefreshToken(refreshJWT.getToken());
-            responseBuilder.setExpiresIn(accessJWT.getLifeTime());
-            responseBuilder.setSessionId(sessionId.toString());
+        log.debug("Check password");
+        if (passwordHashingExecutor.compute(() -> authMetrics.timeBcrypt("matches", () -> encoder.matches(password, user.getPassword())))) {
+            log.debug("Password matches");
+            upgradePasswordHash(user, password);
+            TokenPair tokens = tokenService.generateTokenPair(usersService.getReference(user.getId()), sessionId);
+            formulateTokenResponse(tokens, sessionId, responseBuilder);
         } else {
-            log.info("Password does not match");
+            log.debug("Password does not match");
             formulateAResponse(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_CREDENTIALS", "Invalid credentials", responseBuilder);
         }
     }
 
-    private Optional<Users> findUserByLoginOrEmail(String loginOrEmail, AuthResponse.Builder responseBuilder) {
-        log.info("Find user by identificator: {}", loginOrEmail);
-        Optional<Users> result = usersService.findByLoginOrEmail(loginOrEmail, loginOrEmail);
+    private void upgradePasswordHash(CachedUser user, String password) {
+        if (!rehashOnLogin || !encoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHashingExecutor.compute(() -> authMetrics.timeBcrypt("encode", () -> encoder.encode(password)));
+            usersService.updatePasswordHash(user, upgraded);
+        } catch (RuntimeException e) {
+            log.warn("Failed to upgrade password hash of user [{}]: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    private Optional<CachedUser> findUserByLoginOrEmail(String loginOrEmail, AuthResponse.Builder responseBuilder) {
+        log.debug("Find user by identificator: {}", loginOrEmail);
+        Optional<CachedUser> result = usersService.findByIdentifier(loginOrEmail);
         if (result.isEmpty()) {
-            log.info("User '{}' not found ", loginOrEmail);
+            log.debug("User '{}' not found ", loginOrEmail);
             formulateAResponse(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_CREDENTIALS", "Invalid credentials", responseBuilder);
         }
         return result;
     }
 
-    private Boolean checkAccountConfirmation(Users user, AuthResponse.Builder responseBuilder) {
-        log.info("Verification of a confirmed account");
-        log.info("Verification enabled or disabled: {}", isRequireVerification);
+    private Boolean checkAccountConfirmation(CachedUser user, AuthResponse.Builder responseBuilder) {
+        log.debug("Verification of a confirmed account");
+        log.debug("Verification enabled or disabled: {}", isRequireVerification);
         if (!isRequireVerification) {
-            log.info("Verification disabled");
+            log.debug("Verification disabled");
             return true;
         }
 
-        if (!user.getIsVerified()) {
+        if (!user.isVerified()) {
             formulateAResponse(HttpResponseStatus.FORBIDDEN.code(), "ACCOUNT_NOT_VERIFIED", "ACCOUNT_NOT_VERIFIED", responseBuilder);
             return false;
         }
@@ -0,0 +1,129 @@
+package com.secureuser.service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.secureuser.service.model.OutboxEvents;
+import com.secureuser.service.repository.OutboxEventsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "security.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+
+    private final OutboxEventsRepository outboxEventsRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${security.outbox.topic}")
+    private String topic;
+
+    @Value("${security.outbox.relay.batch-size}")
+    private int batchSize;
+
+    @Value("${security.outbox.relay.max-batches-per-run}")
+    private int maxBatchesPerRun;
+
+    @Value("${security.outbox.relay.send-timeout}")
+    private long sendTimeout;
+
+    public OutboxRelay(OutboxEventsRepository outboxEventsRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventsRepository = outboxEventsRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Scheduled(fixedDelayString = "${security.outbox.relay.interval}")
+    public void relay() {
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer sent = transactionTemplate.execute(status -> publishNextBatch());
+                total += sent == null ? 0 : sent;
+                if (sent == null || sent < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox relay stopped after [{}] events, the rest stays queued: {}", total, e.getMessage(), e);
+        }
+
+        if (total > 0) {
+            log.debug("Outbox relay published [{}] events", total);
+        }
+    }
+
+    private int publishNextBatch() {
+        // One relay at a time keeps events of the same user in id order on the topic.
+        if (!outboxEventsRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+            log.debug("Outbox relay is running on another instance");
+            return 0;
+        }
+        List<OutboxEvents> events = outboxEventsRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        CompletableFuture<?>[] acks = events.stream()
+                .map(event -> kafkaTemplate.send(toRecord(event)))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(acks).get(sendTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish [" + events.size() + "] outbox events", e);
+        }
+
+        outboxEventsRepository.deleteAllByIdInBatch(events.stream().map(OutboxEvents::getId).toList());
+        return events.size();
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxEvents event) {
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, event.getAggregateId().toString(), toMessage(event));
+        record.headers().add("event_type", event.getEventType().getBytes(StandardCharsets.UTF_8));
+        record.headers().add("event_id", event.getEventId().toString().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private String toMessage(OutboxEvents event) {
+        try {
+            ObjectNode message = objectMapper.createObjectNode()
+                    .put("eventId", event.getEventId().toString())
+                    .put("eventType", event.getEventType())
+                    .put("userId", event.getAggregateId().toString())
+                    .put("occurredAt", event.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toString());
+            message.set("payload", objectMapper.readTree(event.getPayload()));
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to build message for outbox event " + event.getEventId(), e);
+        }
+    }
+}
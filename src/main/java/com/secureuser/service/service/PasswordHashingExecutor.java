@@ -0,0 +1,100 @@
+package com.secureuser.service.service;
+
+import io.grpc.Context;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for password hashing. {@link #compute} blocks the calling gRPC worker until the hash is ready, so the
+ * pool caps how many hashes run at once and rejects work beyond its queue; it does not free the caller's thread.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    @Value("${security.hashing.pool-size}")
+    private int poolSize;
+
+    @Value("${security.hashing.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${security.hashing.shutdown-timeout}")
+    private long shutdownTimeout;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("Password hashing executor started with [{}] threads and queue capacity [{}]", threads, queueCapacity);
+    }
+
+    public <T> T compute(Supplier<T> task) throws RejectedExecutionException {
+        Context context = Context.current();
+        Future<T> future = executor.submit(context.wrap(() -> {
+            if (context.isCancelled()) {
+                throw new CancellationException("Call cancelled while waiting for the password hashing executor");
+            }
+            return task.get();
+        }));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for password hashing");
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout, TimeUnit.MILLISECONDS)) {
+            log.warn("Password hashing executor did not drain in [{}] ms, [{}] tasks dropped", shutdownTimeout, executor.shutdownNow().size());
+        }
+    }
+
+    private ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.secureuser.service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.secureuser.service.model.Platforms;
+import com.secureuser.service.model.Users;
+import com.secureuser.service.proto.user.auth.AuthResponse;
+import com.secureuser.service.repository.UserPlatformsRepository;
+import com.secureuser.service.utils.SecretHashes;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.secureuser.service.utils.GRPCHelperMessage.formulateAResponse;
+import static com.secureuser.service.utils.GRPCHelperMessage.formulateTokenResponse;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformLoginService {
+
+    private final RoleService roleService;
+    private final UserPlatformsRepository userPlatformsRepository;
+    private final UsersService usersService;
+    private final TokenService tokenService;
+
+    @Value("${spring.user.registration.require-verification}")
+    private boolean isRequireVerification;
+
+    @Value("${security.platform-login.cache.max-size}")
+    private long cacheMaxSize;
+
+    @Value("${security.platform-login.cache.ttl}")
+    private long cacheTtl;
+
+    private Cache<String, UUID> platformUsers;
+
+    @PostConstruct
+    public void init() {
+        this.platformUsers = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtl))
+                .build();
+    }
+
+    public void authenticate(String platformName, String platformKey, String platformUserId, UUID sessionId, AuthResponse.Builder responseBuilder) {
+        Optional<Platforms> platform = roleService.findPlatform(platformName)
+                .filter(candidate -> SecretHashes.matches(candidate.getApiKeyHash(), platformKey));
+        if (platform.isEmpty()) {
+            log.warn("Rejected platform login with invalid credentials for platform [{}]", platformName);
+            formulateAResponse(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_PLATFORM_CREDENTIALS", "Invalid platform credentials", responseBuilder);
+            return;
+        }
+
+        UUID platformId = platform.get().getId();
+        UUID userId = platformUsers.get(platformId + ":" + platformUserId,
+                key -> userPlatformsRepository.findUserId(platformId, platformUserId).orElse(null));
+        if (userId == null) {
+            log.debug("No user linked to [{}] account [{}]", platformName, platformUserId);
+            formulateAResponse(HttpResponseStatus.NOT_FOUND.code(), "USER_NOT_FOUND", "No user is linked to this platform account", responseBuilder);
+            return;
+        }
+
+        Optional<Users> user = usersService.findById(userId);
+        if (user.isEmpty()) {
+            platformUsers.invalidate(platformId + ":" + platformUserId);
+            formulateAResponse(HttpResponseStatus.NOT_FOUND.code(), "USER_NOT_FOUND", "No user is linked to this platform account", responseBuilder);
+            return;
+        }
+        if (isRequireVerification && !Boolean.TRUE.equals(user.get().getIsVerified())) {
+            log.debug("Rejected platform login of unverified user [{}]", userId);
+            formulateAResponse(HttpResponseStatus.FORBIDDEN.code(), "ACCOUNT_NOT_VERIFIED", "ACCOUNT_NOT_VERIFIED", responseBuilder);
+            return;
+        }
+
+        formulateTokenResponse(tokenService.generateTokenPair(user.get(), sessionId), sessionId, responseBuilder);
+    }
+}
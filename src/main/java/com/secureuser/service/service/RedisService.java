@@ -1,11 +1,19 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.dto.RedisEntry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -25,11 +33,77 @@ public class RedisService {
         }
     }
 
+    public boolean saveAllIfAbsent(List<RedisEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach(entry -> connection.stringCommands().set(
+                        serialize(entry.getKey()),
+                        serialize(entry.getValue()),
+                        Expiration.from(entry.getTtl()),
+                        RedisStringCommands.SetOption.ifAbsent()
+                ));
+                return null;
+            });
+            return results.stream().allMatch(Boolean.TRUE::equals);
+        } catch (Exception e) {
+            log.error("Error saving [{}] entries in Redis", entries.size(), e);
+            return false;
+        }
+    }
+
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    public List<String> getAll(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        return redisTemplate.opsForValue().multiGet(keys);
+    }
+
     public Optional<String> get(String key) {
         return Optional.ofNullable(redisTemplate.opsForValue().get(key));
     }
 
+    public Optional<String> getAndDelete(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().getAndDelete(key));
+    }
+
+    public boolean exists(String key) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    public List<Boolean> existsAll(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.keyCommands().exists(serialize(key)));
+            return null;
+        });
+        return results.stream().map(Boolean.TRUE::equals).toList();
+    }
+
+    public <T> T execute(RedisScript<T> script, List<String> keys, List<String> args) {
+        return redisTemplate.execute(script, keys, args.toArray());
+    }
+
     public void delete(String key) {
         redisTemplate.delete(key);
     }
-}
\ No newline at end of file
+
+    public void deleteAll(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        redisTemplate.delete(keys);
+    }
+
+    private byte[] serialize(String value) {
+        return StringRedisSerializer.UTF_8.serialize(value);
+    }
+}
@@ -1,7 +1,6 @@
 package com.secureuser.service.service;
 
 import com.secureuser.service.exception.DatabaseOperationException;
-import com.secureuser.service.model.Users;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -49,28 +48,23 @@ public class RegistrationConfirmationService {
     }
 
     public ResponseEntity<String> validateAndConfirmRegistration(String uuid) {
-        Optional<String> loginOptional = findByToken(uuid);
+        Optional<String> loginOptional = redisService.getAndDelete(uuid);
 
         if (loginOptional.isEmpty()) {
             log.warn("Invalid or expired confirmation token: {}", uuid);
             return ResponseEntity.status(HttpStatus.GONE).body("Link is inactive or out of date");
         }
 
-        Optional<Users> userOptional = usersService.findByLogin(loginOptional.get());
-        if (userOptional.isEmpty()) {
-            log.warn("User not found for token: {}", uuid);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-        }
-
+        String login = loginOptional.get();
         try {
-            Users user = userOptional.get();
-            user.setIsVerified(true);
-            usersService.update(user);
-            log.info("User [{}] successfully verified", user.getLogin());
-            deleteToken(uuid);
-            log.info("Confirmation token [{}] has been removed from Redis", uuid);
+            if (!usersService.markVerified(login)) {
+                log.warn("User not found for token: {}", uuid);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+            }
+            log.info("User [{}] successfully verified", login);
         } catch (DatabaseOperationException e) {
             log.error("Error while updating user verification status", e);
+            redisService.save(uuid, login, time);
             return ResponseEntity.internalServerError().body("Internal error during verification");
         }
 
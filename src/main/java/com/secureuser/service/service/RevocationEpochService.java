@@ -0,0 +1,168 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.constants.RevocationScope;
+import com.secureuser.service.dto.VerifiedToken;
+import com.secureuser.service.model.RevocationEpochs;
+import com.secureuser.service.repository.RevocationEpochsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.lang.String.format;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationEpochService {
+
+    private static final int SYNC_CHUNK_SIZE = 500;
+    private static final Duration IN_FLIGHT_REVOCATION_GRACE = Duration.ofSeconds(30);
+
+    private static final RedisScript<Long> SYNC_EPOCHS = RedisScript.of("""
+            local snapshot = tonumber(ARGV[1])
+            local written = 0
+            for i = 1, #KEYS do
+                local current = tonumber(redis.call('GET', KEYS[i]))
+                if current == nil or current < snapshot then
+                    redis.call('SET', KEYS[i], ARGV[2 * i], 'PX', ARGV[2 * i + 1])
+                    written = written + 1
+                end
+            end
+            return written
+            """, Long.class);
+
+    private final RevocationEpochsRepository revocationEpochsRepository;
+    private final RedisService redisService;
+
+    @Value("${spring.security.jwt.expiration.refresh}")
+    private long expirationRefresh;
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void revokeSession(UUID sessionId) {
+        revoke(RevocationScope.SESSION, sessionId);
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void revokeUser(UUID userId) {
+        revoke(RevocationScope.USER, userId);
+    }
+
+    public List<Boolean> areRevoked(List<VerifiedToken> tokens) {
+        List<String> keys = new ArrayList<>(tokens.size() * 2);
+        tokens.forEach(token -> {
+            keys.add(epochKey(RevocationScope.SESSION, token.getSessionId()));
+            keys.add(epochKey(RevocationScope.USER, token.getUserId()));
+        });
+        List<String> epochs = redisService.getAll(keys);
+
+        List<Boolean> revoked = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            long issuedAt = tokens.get(i).getIssuedAt().getEpochSecond();
+            revoked.add(issuedNotAfter(issuedAt, epochs.get(2 * i)) || issuedNotAfter(issuedAt, epochs.get(2 * i + 1)));
+        }
+        return revoked;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isRevokedInDatabase(UUID userId, UUID sessionId, LocalDateTime issuedAt) {
+        return revocationEpochsRepository.findLatestRevokedBefore(userId, sessionId)
+                .map(revokedBefore -> !issuedAt.truncatedTo(ChronoUnit.SECONDS).isAfter(revokedBefore))
+                .orElse(false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreEpochsInRedis() {
+        try {
+            log.info("Restored [{}] revocation epochs in Redis", syncEpochsInRedis());
+        } catch (Exception e) {
+            log.error("Failed to restore revocation epochs in Redis", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.tokens.revocation.resync-interval}", initialDelayString = "${security.tokens.revocation.resync-interval}")
+    public void resyncEpochsInRedis() {
+        try {
+            log.debug("Re-synced [{}] revocation epochs in Redis", syncEpochsInRedis());
+        } catch (Exception e) {
+            log.error("Failed to re-sync revocation epochs in Redis", e);
+        }
+    }
+
+    private int syncEpochsInRedis() {
+        // Keys newer than the snapshot belong to revocations committed while the rows were being read.
+        long snapshot = Instant.now().minus(IN_FLIGHT_REVOCATION_GRACE).getEpochSecond();
+        LocalDateTime now = LocalDateTime.now();
+        List<RevocationEpochs> active = revocationEpochsRepository.findAllByExpiresAtAfter(now);
+        for (int from = 0; from < active.size(); from += SYNC_CHUNK_SIZE) {
+            List<RevocationEpochs> chunk = active.subList(from, Math.min(active.size(), from + SYNC_CHUNK_SIZE));
+            List<String> keys = new ArrayList<>(chunk.size());
+            List<String> args = new ArrayList<>(chunk.size() * 2 + 1);
+            args.add(String.valueOf(snapshot));
+            chunk.forEach(epoch -> {
+                keys.add(epochKey(RevocationScope.valueOf(epoch.getScope()), epoch.getSubjectId().toString()));
+                args.add(epochValue(epoch));
+                args.add(String.valueOf(Math.max(1, Duration.between(now, epoch.getExpiresAt()).toMillis())));
+            });
+            redisService.execute(SYNC_EPOCHS, keys, args);
+        }
+        return active.size();
+    }
+
+    private void revoke(RevocationScope scope, UUID subjectId) {
+        Instant epoch = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime revokedBefore = LocalDateTime.ofInstant(epoch, ZoneId.systemDefault());
+        revocationEpochsRepository.upsert(scope.name(), subjectId, revokedBefore, revokedBefore.plusSeconds(expirationRefresh));
+        String key = epochKey(scope, subjectId.toString());
+        String value = String.valueOf(epoch.getEpochSecond());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishEpoch(key, value);
+                }
+            });
+        } else {
+            publishEpoch(key, value);
+        }
+        log.info("Revoked {} [{}] for tokens issued up to [{}]", scope.name().toLowerCase(), subjectId, epoch);
+    }
+
+    // Fails open: the epoch is already committed, refresh checks it in the database and the next re-sync copies it into Redis.
+    private void publishEpoch(String key, String value) {
+        try {
+            redisService.put(key, value, Duration.ofSeconds(expirationRefresh));
+        } catch (Exception e) {
+            log.error("Failed to write revocation epoch [{}] to Redis, it will be restored by the next re-sync", key, e);
+        }
+    }
+
+    private String epochValue(RevocationEpochs epoch) {
+        return String.valueOf(epoch.getRevokedBefore().atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    private boolean issuedNotAfter(long issuedAt, String epoch) {
+        return epoch != null && issuedAt <= Long.parseLong(epoch);
+    }
+
+    private String epochKey(RevocationScope scope, String subjectId) {
+        return format("jwt:epoch:%s:%s", scope.name().toLowerCase(), subjectId);
+    }
+}
@@ -1,4 +1,76 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.dto.UserAuthorities;
+import com.secureuser.service.model.Platforms;
+import com.secureuser.service.model.Roles;
+import com.secureuser.service.repository.PlatformsRepository;
+import com.secureuser.service.repository.RolesRepository;
+import com.secureuser.service.repository.UserPlatformsRepository;
+import com.secureuser.service.repository.UserRolesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
 public class RoleService {
+
+    private final RolesRepository rolesRepository;
+    private final PlatformsRepository platformsRepository;
+    private final UserRolesRepository userRolesRepository;
+    private final UserPlatformsRepository userPlatformsRepository;
+
+    @Value("${security.roles.default-role}")
+    private String defaultRole;
+
+    private volatile Catalogue catalogue = new Catalogue(Map.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.roles.catalogue.refresh-interval}", initialDelayString = "${security.roles.catalogue.refresh-interval}")
+    public void refreshCatalogue() {
+        List<Roles> roles = rolesRepository.findAll();
+        List<Platforms> platforms = platformsRepository.findAll();
+        this.catalogue = new Catalogue(
+                roles.stream().collect(Collectors.toUnmodifiableMap(Roles::getId, Roles::getName)),
+                platforms.stream().collect(Collectors.toUnmodifiableMap(Platforms::getName, Function.identity()))
+        );
+        log.debug("Role catalogue refreshed: [{}] roles, [{}] platforms", roles.size(), platforms.size());
+    }
+
+    public Optional<Platforms> findPlatform(String platformName) {
+        return Optional.ofNullable(catalogue.platforms().get(platformName));
+    }
+
+    public UserAuthorities getAuthorities(UUID userId) {
+        List<UUID> roleIds = userRolesRepository.findRoleIdsByUserId(userId);
+        if (!catalogue.roleNames().keySet().containsAll(roleIds)) {
+            refreshCatalogue();
+        }
+        Map<UUID, String> roleNames = catalogue.roleNames();
+        List<String> roles = roleIds.stream()
+                .map(roleNames::get)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+        return new UserAuthorities(
+                roles.isEmpty() ? List.of(defaultRole) : roles,
+                userPlatformsRepository.findPlatformIdsByUserId(userId)
+        );
+    }
+
+    private record Catalogue(Map<UUID, String> roleNames, Map<String, Platforms> platforms) {
+    }
 }
@@ -0,0 +1,150 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.repository.RevocationEpochsRepository;
+import com.secureuser.service.repository.TokensRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static java.lang.String.format;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "security.tokens.reaper", name = "enabled", havingValue = "true")
+public class TokenReaperService {
+
+    private static final String PARTITION_PREFIX = "tokens_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final TokensRepository tokensRepository;
+    private final RevocationEpochsRepository revocationEpochsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Value("${security.tokens.reaper.batch-size}")
+    private int batchSize;
+
+    @Value("${security.tokens.reaper.max-batches-per-run}")
+    private int maxBatchesPerRun;
+
+    @Value("${security.tokens.reaper.batch-pause}")
+    private long batchPause;
+
+    @Value("${security.tokens.reaper.retention-lag}")
+    private long retentionLag;
+
+    @Value("${security.tokens.partitions.months-ahead}")
+    private int monthsAhead;
+
+    @Scheduled(fixedDelayString = "${security.tokens.reaper.interval}", initialDelayString = "${security.tokens.reaper.initial-delay}")
+    public void reapExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionLag);
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int deleted = tokensRepository.deleteExpiredOrRevoked(cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Token reaper removed [{}] expired or revoked tokens older than [{}]", total, cutoff);
+        }
+
+        int epochs = revocationEpochsRepository.deleteExpired(cutoff);
+        if (epochs > 0) {
+            log.info("Token reaper removed [{}] expired revocation epochs", epochs);
+        }
+    }
+
+    @Scheduled(cron = "${security.tokens.partitions.cron}")
+    public void maintainPartitions() {
+        List<String> partitions = findPartitions();
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!partitions.contains(PARTITION_PREFIX + month.format(PARTITION_SUFFIX))) {
+                createPartition(month);
+            }
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionLag);
+        partitions.forEach(partition -> {
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                dropPartition(partition);
+            }
+        });
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        try {
+            retryingTransactionExecutor.run(() -> {
+                jdbcTemplate.execute(format("CREATE TABLE %s (LIKE tokens INCLUDING DEFAULTS)", partition));
+                int moved = jdbcTemplate.update(format("""
+                        WITH moved AS (
+                            DELETE FROM tokens_default
+                            WHERE expires_at >= '%s' AND expires_at < '%s'
+                            RETURNING *
+                        )
+                        INSERT INTO %s SELECT * FROM moved
+                        """, from, to, partition));
+                jdbcTemplate.execute(format("ALTER TABLE tokens ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+                if (moved > 0) {
+                    log.info("Moved [{}] tokens from the default partition into [{}]", moved, partition);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to create tokens partition for [{}]: {}", month, e.getMessage());
+        }
+    }
+
+    private void dropPartition(String partition) {
+        try {
+            jdbcTemplate.execute(format("DROP TABLE IF EXISTS %s", partition));
+            log.info("Dropped expired tokens partition [{}]", partition);
+        } catch (DataAccessException e) {
+            log.warn("Failed to drop tokens partition [{}]: {}", partition, e.getMessage());
+        }
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = 'tokens'
+                  AND child.relname ~ '^tokens_p[0-9]{6}$'
+                """, String.class);
+    }
+
+    private boolean pause() {
+        if (batchPause <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.secureuser.service.service;
 
 import com.secureuser.service.constants.JWTokenType;
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.dto.IssuedToken;
 import com.secureuser.service.dto.TokenObject;
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.dto.UserAuthorities;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.model.Tokens;
 import com.secureuser.service.model.Users;
 import com.secureuser.service.proto.user.auth.AuthResponse;
@@ -9,13 +14,13 @@ import com.secureuser.service.repository.TokensRepository;
 import com.secureuser.service.utils.JwtUtils;
 import com.secureuser.service.utils.TimeUtils;
 import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Date;
@@ -24,7 +29,6 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static com.secureuser.service.utils.GRPCHelperMessage.formulateAResponse;
-import static java.lang.String.format;
 
 @Service
 @Slf4j
@@ -32,8 +36,13 @@ import static java.lang.String.format;
 public class TokenService {
 
     private final JwtUtils jwtUtils;
-    private final RedisService redisService;
     private final TokensRepository tokensRepository;
+    private final RevocationEpochService revocationEpochService;
+    private final RoleService roleService;
+    private final TokenWriteBehindQueue tokenWriteBehindQueue;
+    private final OutboxService outboxService;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final AuthMetrics authMetrics;
 
     @Value("${spring.application.name}")
     private String projectName;
@@ -44,93 +53,44 @@ public class TokenService {
     @Value("${spring.security.jwt.expiration.refresh}")
     private long expirationRefresh;
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public TokenObject generateToken(Users user, JWTokenType tokenType, UUID sessionId) {
-        log.info("Start generating JWT token for user: {}", user.getLogin());
+    public TokenPair generateTokenPair(Users user, UUID sessionId) {
+        log.debug("Start generating JWT tokens for user: {}", user.getId());
 
-        Instant now = Instant.now();
-        long lifeTime = switch (tokenType) {
-            case ACCESS -> expirationAccess;
-            case REFRESH -> expirationRefresh;
-        };
+        UserAuthorities authorities = roleService.getAuthorities(user.getId());
+        Tokens accessToken = issueToken(user, JWTokenType.ACCESS, sessionId, authorities);
+        Tokens refreshToken = issueToken(user, JWTokenType.REFRESH, sessionId, authorities);
 
-        String idToken = UUID.randomUUID().toString();
+        if (tokenWriteBehindQueue.isEnabled()) {
+            tokenWriteBehindQueue.submit(List.of(accessToken, refreshToken));
+        } else {
+            retryingTransactionExecutor.run(() -> {
+                tokensRepository.saveAll(List.of(accessToken, refreshToken));
+                outboxService.record(AuthEvent.tokensIssued(user.getId(), sessionId, refreshToken.getCreatedAt()));
+            });
+        }
 
-        Date createDate = Date.from(now);
-        Date expirationDate = Date.from(now.plusSeconds(lifeTime));
-
-        String token = jwtUtils.generateToken(
-                Jwts.builder()
-                        .id(idToken)
-                        .issuer(projectName)
-                        .subject(user.getId().toString())
-                        .claim("token_type", tokenType.name())
-                        .claim("session_id", sessionId)
-                        .audience().add("classmate-bot").and()
-                        .issuedAt(createDate)
-                        .expiration(expirationDate)
-                        .claim("service_role", "USER")
+        log.debug("Tokens successfully generated for session [{}]", sessionId);
+        return new TokenPair(
+                new TokenObject(accessToken.getToken(), getLifeTime(JWTokenType.ACCESS)),
+                new TokenObject(refreshToken.getToken(), getLifeTime(JWTokenType.REFRESH))
         );
-
-        String keyNameRedisJWToken = generateKeyName(tokenType.name(), idToken);
-
-        Tokens tokenModel = new Tokens();
-        tokenModel.setToken(token);
-        tokenModel.setRevoked(false);
-        tokenModel.setCreatedAt(TimeUtils.convertToLocalDateTime(createDate));
-        tokenModel.setExpiresAt(TimeUtils.convertToLocalDateTime(expirationDate));
-        tokenModel.setOwner(user);
-        tokenModel.setTokenType(tokenType.name());
-        tokenModel.setSessionId(sessionId);
-        user.addToken(tokenModel);
-
-        tokensRepository.save(tokenModel);
-        redisService.save(keyNameRedisJWToken, token, lifeTime);
-
-        log.info("Token successfully generated for type [{}]", tokenType);
-        return new TokenObject(token, lifeTime);
     }
 
     public boolean validateToken(String token) {
         return jwtUtils.isTokenValid(token);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public void revokeAllUserTokens(Users user) {
-        List<Tokens> validTokens = user.getTokens();
-        validTokens.forEach(token -> {
-            token.setRevoked(true);
-            redisService.delete(generateKeyName(token.getTokenType(), token.getToken()));
-        });
-        tokensRepository.saveAll(validTokens);
+        revocationEpochService.revokeUser(user.getId());
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void revokeAllTokensBySessionId(Users user, UUID sessionId) {
-        List<Tokens> validTokens = user.getTokens();
-        if (validTokens == null || validTokens.isEmpty()) {
-            return;
-        }
-        validTokens.forEach(token -> {
-            if (token.getSessionId().equals(sessionId)) {
-                token.setRevoked(true);
-                redisService.delete(generateKeyName(token.getTokenType(), token.getToken()));
-            }
-        });
-        tokensRepository.saveAll(validTokens);
+    public void revokeAllTokensBySessionId(UUID sessionId) {
+        revocationEpochService.revokeSession(sessionId);
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public void refreshToken(String refreshToken, AuthResponse.Builder responseBuilder) {
-        Optional<Tokens> tokensOptional = tokensRepository.findByToken(refreshToken);
-        if (tokensOptional.isEmpty()) {
-            formulateAResponse(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_CREDENTIALS", "The token is no longer valid", responseBuilder);
-            return;
-        }
-
-        Tokens refreshTokenForBD = tokensOptional.get();
-
-        if (refreshTokenForBD.getRevoked()) {
+        TokenPair tokens = retryingTransactionExecutor.execute(() -> rotateRefreshToken(refreshToken));
+        if (tokens == null) {
             formulateAResponse(
                     HttpResponseStatus.UNAUTHORIZED.code(),
                     "INVALID_CREDENTIALS",
@@ -140,20 +100,102 @@ public class TokenService {
             return;
         }
 
-        Users owner = refreshTokenForBD.getOwner();
-        revokeAllTokensBySessionId(owner, refreshTokenForBD.getSessionId());
-
-        UUID sessionId = UUID.randomUUID();
-        TokenObject accessJWT = generateToken(owner, JWTokenType.ACCESS, sessionId);
-        TokenObject refreshJWT = generateToken(owner, JWTokenType.REFRESH, sessionId);
         responseBuilder.setStatusCode(HttpResponseStatus.OK.code());
         responseBuilder.setMessageCode(HttpResponseStatus.OK.reasonPhrase());
-        responseBuilder.setAccessToken(accessJWT.getToken());
-        responseBuilder.setRefreshToken(refreshJWT.getToken());
-        responseBuilder.setExpiresIn(accessJWT.getLifeTime());
+        responseBuilder.setAccessToken(tokens.getAccessToken().getToken());
+        responseBuilder.setRefreshToken(tokens.getRefreshToken().getToken());
+        responseBuilder.setExpiresIn(tokens.getAccessToken().getLifeTime());
     }
 
-    private String generateKeyName(String typeToken, String idToken) {
-        return format("jwt:%s:%s", typeToken, idToken);
+    private TokenPair rotateRefreshToken(String refreshToken) {
+        Optional<Tokens> tokensOptional = findRefreshToken(refreshToken);
+        if (tokensOptional.isEmpty() || tokensOptional.get().getRevoked()) {
+            return null;
+        }
+
+        Tokens refreshTokenForBD = tokensOptional.get();
+        UUID currentSessionId = refreshTokenForBD.getSessionId();
+        if (revocationEpochService.isRevokedInDatabase(refreshTokenForBD.getOwner().getId(), currentSessionId, refreshTokenForBD.getCreatedAt())) {
+            return null;
+        }
+
+        if (!claim(refreshTokenForBD)) {
+            log.warn("Refresh token [{}] was already rotated by a concurrent request", refreshTokenForBD.getJti());
+            return null;
+        }
+        revocationEpochService.revokeSession(currentSessionId);
+
+        return generateTokenPair(refreshTokenForBD.getOwner(), UUID.randomUUID());
+    }
+
+    private boolean claim(Tokens refreshToken) {
+        if (refreshToken.getId() == null && tokensRepository.insertRevokedIfAbsent(
+                refreshToken.getOwner().getId(),
+                refreshToken.getToken(),
+                refreshToken.getJti(),
+                refreshToken.getCreatedAt(),
+                refreshToken.getExpiresAt(),
+                refreshToken.getTokenType(),
+                refreshToken.getSessionId()) == 1) {
+            return true;
+        }
+        return tokensRepository.revokeByJti(refreshToken.getJti()) > 0;
+    }
+
+    private Tokens issueToken(Users user, JWTokenType tokenType, UUID sessionId, UserAuthorities authorities) {
+        Instant now = Instant.now();
+        UUID idToken = UUID.randomUUID();
+
+        Date createDate = Date.from(now);
+        Date expirationDate = Date.from(now.plusSeconds(getLifeTime(tokenType)));
+
+        JwtBuilder builder = Jwts.builder()
+                .id(idToken.toString())
+                .issuer(projectName)
+                .subject(user.getId().toString())
+                .claim("token_type", tokenType.name())
+                .claim("session_id", sessionId)
+                .audience().add("classmate-bot").and()
+                .issuedAt(createDate)
+                .expiration(expirationDate);
+        if (tokenType == JWTokenType.ACCESS) {
+            builder.claim("roles", authorities.getRoles())
+                    .claim("platform_ids", authorities.getPlatformIds());
+        }
+        String token = authMetrics.timeJwtSigning(tokenType.name(), () -> jwtUtils.generateToken(builder));
+
+        Tokens tokenModel = new Tokens();
+        tokenModel.setToken(token);
+        tokenModel.setJti(idToken);
+        tokenModel.setRevoked(false);
+        tokenModel.setCreatedAt(TimeUtils.convertToLocalDateTime(createDate));
+        tokenModel.setExpiresAt(TimeUtils.convertToLocalDateTime(expirationDate));
+        tokenModel.setOwner(user);
+        tokenModel.setTokenType(tokenType.name());
+        tokenModel.setSessionId(sessionId);
+        return tokenModel;
+    }
+
+    private long getLifeTime(JWTokenType tokenType) {
+        return switch (tokenType) {
+            case ACCESS -> expirationAccess;
+            case REFRESH -> expirationRefresh;
+        };
+    }
+
+    private Optional<Tokens> findRefreshToken(String refreshToken) {
+        Claims claims = jwtUtils.getClaims(refreshToken);
+        if (claims == null || claims.getId() == null || !JWTokenType.REFRESH.name().equals(claims.get("token_type", String.class))) {
+            return Optional.empty();
+        }
+
+        try {
+            UUID jti = UUID.fromString(claims.getId());
+            return tokensRepository.findByJti(jti)
+                    .or(() -> tokenWriteBehindQueue.findPending(jti).map(IssuedToken::toEntity));
+        } catch (IllegalArgumentException e) {
+            log.warn("Refresh token carries a malformed jti: {}", claims.getId());
+            return Optional.empty();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package com.secureuser.service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.secureuser.service.constants.JWTokenType;
+import com.secureuser.service.dto.VerifiedToken;
+import com.secureuser.service.proto.user.auth.BatchValidateTokenResponse;
+import com.secureuser.service.proto.user.auth.Error;
+import com.secureuser.service.proto.user.auth.ValidateTokenResponse;
+import com.secureuser.service.utils.JwtUtils;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenValidationService {
+
+    private final JwtUtils jwtUtils;
+    private final RevocationEpochService revocationEpochService;
+
+    @Value("${security.tokens.validation-cache.max-size}")
+    private long cacheMaxSize;
+
+    @Value("${security.tokens.batch-validation.max-size}")
+    private int maxBatchSize;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public ValidateTokenResponse validate(String accessToken) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return badRequest();
+        }
+
+        VerifiedToken verified = verify(accessToken);
+        if (verified == null) {
+            return notValid();
+        }
+        return isRevoked(verified) ? revoked() : valid(verified);
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public BatchValidateTokenResponse validateAll(List<String> accessTokens) {
+        List<VerifiedToken> verifiedBatch = accessTokens.stream()
+                .map(token -> token == null || token.isBlank() ? null : verify(token))
+                .toList();
+        Iterator<Boolean> revokedStates = findRevokedStates(verifiedBatch.stream().filter(Objects::nonNull).toList()).iterator();
+
+        BatchValidateTokenResponse.Builder responseBuilder = BatchValidateTokenResponse.newBuilder();
+        for (int i = 0; i < accessTokens.size(); i++) {
+            String token = accessTokens.get(i);
+            VerifiedToken verified = verifiedBatch.get(i);
+            if (token == null || token.isBlank()) {
+                responseBuilder.addResults(badRequest());
+            } else if (verified == null) {
+                responseBuilder.addResults(notValid());
+            } else {
+                responseBuilder.addResults(revokedStates.next() ? revoked() : valid(verified));
+            }
+        }
+        return responseBuilder.build();
+    }
+
+    private VerifiedToken verify(String accessToken) {
+        String cacheKey = cacheKey(accessToken);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && cached.getToken().equals(accessToken) && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = jwtUtils.getClaims(accessToken);
+        if (claims == null || !JWTokenType.ACCESS.name().equals(claims.get("token_type", String.class))
+                || claims.getId() == null || claims.getSubject() == null || claims.getIssuedAt() == null || claims.getExpiration() == null
+                || claims.get("session_id", String.class) == null) {
+            return null;
+        }
+
+        VerifiedToken verified = new VerifiedToken(
+                accessToken,
+                claims.getId(),
+                claims.getSubject(),
+                claims.get("session_id", String.class),
+                claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant(),
+                stringList(claims, "roles"),
+                stringList(claims, "platform_ids")
+        );
+        verifiedTokens.put(cacheKey, verified);
+        return verified;
+    }
+
+    private boolean isRevoked(VerifiedToken verified) {
+        try {
+            return revocationEpochService.areRevoked(List.of(verified)).get(0);
+        } catch (Exception e) {
+            log.error("Failed to check revocation state of token [{}]", verified.getTokenId(), e);
+            return true;
+        }
+    }
+
+    private List<Boolean> findRevokedStates(List<VerifiedToken> verified) {
+        try {
+            return revocationEpochService.areRevoked(verified);
+        } catch (Exception e) {
+            log.error("Failed to check revocation state of [{}] tokens", verified.size(), e);
+            return Collections.nCopies(verified.size(), true);
+        }
+    }
+
+    private List<String> stringList(Claims claims, String name) {
+        return claims.get(name) instanceof List<?> values ? values.stream().map(String::valueOf).toList() : List.of();
+    }
+
+    private String cacheKey(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+
+    private ValidateTokenResponse valid(VerifiedToken verified) {
+        return ValidateTokenResponse.newBuilder()
+                .setStatusCode(HttpResponseStatus.OK.code())
+                .setMessageCode(HttpResponseStatus.OK.reasonPhrase())
+                .setValid(true)
+                .setUserId(verified.getUserId())
+                .setSessionId(verified.getSessionId())
+                .setTokenId(verified.getTokenId())
+                .setExpiresAt(verified.getExpiresAt().getEpochSecond())
+                .addAllRoles(verified.getRoles())
+                .addAllPlatformIds(verified.getPlatformIds())
+                .build();
+    }
+
+    private ValidateTokenResponse badRequest() {
+        return invalid(HttpResponseStatus.BAD_REQUEST.code(), "BAD_REQUEST", "Incorrectly filled data in the request");
+    }
+
+    private ValidateTokenResponse notValid() {
+        return invalid(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_TOKEN", "The token is not valid");
+    }
+
+    private ValidateTokenResponse revoked() {
+        return invalid(HttpResponseStatus.UNAUTHORIZED.code(), "INVALID_TOKEN", "The token is no longer valid");
+    }
+
+    private ValidateTokenResponse invalid(int statusCode, String messageCode, String errorMessage) {
+        return ValidateTokenResponse.newBuilder()
+                .setStatusCode(statusCode)
+                .setMessageCode(messageCode)
+                .setValid(false)
+                .setError(Error.newBuilder().setErrorMessage(errorMessage).build())
+                .build();
+    }
+}
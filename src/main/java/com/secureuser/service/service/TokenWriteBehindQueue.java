@@ -0,0 +1,261 @@
+package com.secureuser.service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureuser.service.constants.JWTokenType;
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.dto.IssuedToken;
+import com.secureuser.service.dto.RedisEntry;
+import com.secureuser.service.model.Tokens;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenWriteBehindQueue {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO tokens (user_id, token, jti, revoked, created_at, expires_at, token_type, session_id)
+            VALUES (?, ?, ?, false, ?, ?, ?, ?)
+            ON CONFLICT (jti, expires_at) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final OutboxService outboxService;
+
+    @Value("${security.tokens.write-behind.enabled}")
+    private boolean enabled;
+
+    @Value("${security.tokens.write-behind.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${security.tokens.write-behind.batch-size}")
+    private int batchSize;
+
+    @Value("${security.tokens.write-behind.flush-interval}")
+    private long flushInterval;
+
+    @Value("${security.tokens.write-behind.max-flush-attempts}")
+    private int maxFlushAttempts;
+
+    @Value("${security.tokens.write-behind.pending-ttl}")
+    private long pendingTtl;
+
+    @Value("${security.tokens.write-behind.shutdown-timeout}")
+    private long shutdownTimeout;
+
+    private BlockingQueue<IssuedToken> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = true;
+        this.writer = Thread.ofPlatform().name("token-write-behind").daemon().start(this::drain);
+        log.info("Token write-behind started with queue capacity [{}], batch size [{}] and flush interval [{} ms]",
+                queueCapacity, batchSize, flushInterval);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void submit(List<Tokens> tokens) {
+        List<IssuedToken> issued = tokens.stream().map(IssuedToken::from).toList();
+        if (!redisService.saveAllIfAbsent(pendingEntries(issued))) {
+            log.warn("Failed to store pending refresh tokens in Redis, writing [{}] tokens synchronously", issued.size());
+            insert(issued);
+            return;
+        }
+
+        List<IssuedToken> overflow = new ArrayList<>();
+        for (IssuedToken token : issued) {
+            if (!running || !queue.offer(token)) {
+                overflow.add(token);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            log.warn("Token write-behind queue is full, writing [{}] tokens synchronously", overflow.size());
+            insert(overflow);
+        }
+    }
+
+    public Optional<IssuedToken> findPending(UUID jti) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return redisService.get(pendingKey(jti)).flatMap(json -> {
+            try {
+                return Optional.of(objectMapper.readValue(json, IssuedToken.class));
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to read pending token [{}] from Redis: {}", jti, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(shutdownTimeout);
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Token write-behind did not drain in [{}] ms, [{}] tokens left in Redis only", shutdownTimeout, queue.size());
+        }
+    }
+
+    private void drain() {
+        List<IssuedToken> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty() && !fill(batch)) {
+                    continue;
+                }
+                insert(batch);
+                batch.clear();
+                failures = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (++failures < maxFlushAttempts) {
+                    log.warn("Failed to flush [{}] tokens, retrying in [{} ms]: {}", batch.size(), flushInterval, e.getMessage());
+                } else {
+                    log.error("Failed to flush [{}] tokens after [{}] attempts, writing them one by one", batch.size(), failures, e);
+                    batch.removeIf(this::insertOrDrop);
+                    failures = 0;
+                }
+                if (!batch.isEmpty() && !pause()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean insertOrDrop(IssuedToken token) {
+        try {
+            insert(List.of(token));
+            return true;
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                return false;
+            }
+            log.error("Dropping token [{}] of user [{}] that cannot be written: {}", token.getJti(), token.getUserId(), e.getMessage());
+            return true;
+        }
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private boolean fill(List<IssuedToken> batch) throws InterruptedException {
+        IssuedToken first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            IssuedToken next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    private void insert(List<IssuedToken> tokens) {
+        retryingTransactionExecutor.run(() -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, tokens, tokens.size(), (ps, token) -> {
+                ps.setObject(1, token.getUserId());
+                ps.setString(2, token.getToken());
+                ps.setObject(3, token.getJti());
+                ps.setTimestamp(4, Timestamp.valueOf(token.getCreatedAt()));
+                ps.setTimestamp(5, Timestamp.valueOf(token.getExpiresAt()));
+                ps.setString(6, token.getTokenType());
+                ps.setObject(7, token.getSessionId());
+            });
+            outboxService.recordAll(tokens.stream()
+                    .filter(token -> JWTokenType.REFRESH.name().equals(token.getTokenType()))
+                    .map(token -> AuthEvent.tokensIssued(token.getUserId(), token.getSessionId(), token.getCreatedAt()))
+                    .toList());
+        });
+        log.debug("Flushed [{}] tokens to the database", tokens.size());
+    }
+
+    private List<RedisEntry> pendingEntries(List<IssuedToken> tokens) {
+        List<RedisEntry> entries = new ArrayList<>();
+        for (IssuedToken token : tokens) {
+            if (!JWTokenType.REFRESH.name().equals(token.getTokenType())) {
+                continue;
+            }
+            try {
+                entries.add(new RedisEntry(pendingKey(token.getJti()), objectMapper.writeValueAsString(token), Duration.ofSeconds(pendingTtl)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize pending token " + token.getJti(), e);
+            }
+        }
+        return entries;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(flushInterval);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String pendingKey(UUID jti) {
+        return format("jwt:pending:%s", jti);
+    }
+}
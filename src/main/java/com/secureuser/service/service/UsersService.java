@@ -1,16 +1,23 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.cache.UserCache;
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.dto.CachedUser;
+import com.secureuser.service.dto.VerifiedUser;
 import com.secureuser.service.exception.DatabaseOperationException;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.model.Users;
 import com.secureuser.service.repository.UsersRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -18,31 +25,70 @@ import java.util.Optional;
 public class UsersService {
 
     private final UsersRepository usersRepository;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RetryingTransactionExecutor retryingTransactionExecutor;
+    private final AuthMetrics authMetrics;
+    private final UserCache userCache;
+    private final OutboxService outboxService;
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void save(String login, String email, String password) throws DatabaseOperationException {
-        String encodePassword = encoder.encode(password);
+    public boolean save(String login, String email, String password) throws DatabaseOperationException {
+        String encodePassword = passwordHashingExecutor.compute(() -> authMetrics.timeBcrypt("encode", () -> encoder.encode(password)));
         try {
-            usersRepository.save(new Users(email, login, encodePassword));
-            log.info("User saved to database: {}", login);
+            Optional<UUID> id = retryingTransactionExecutor.execute(() -> {
+                Optional<UUID> inserted = usersRepository.insertIfAbsent(email, login, encodePassword);
+                inserted.ifPresent(userId -> outboxService.record(AuthEvent.userRegistered(userId, login, email)));
+                return inserted;
+            });
+            if (id.isEmpty()) {
+                log.debug("Login or email is already taken: {}", login);
+                return false;
+            }
+            log.debug("User saved to database: {} [{}]", login, id.get());
+            return true;
         } catch (Exception e) {
             log.error("Error while saving user: {}", e.getMessage(), e);
             throw new DatabaseOperationException("An error occurred while saving a user", e);
         }
     }
 
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void update(Users users) throws DatabaseOperationException {
         try {
             usersRepository.save(users);
-            log.info("User update to database: {}", users.getLogin());
+            userCache.invalidate(users.getLogin(), users.getEmail());
+            log.debug("User update to database: {}", users.getLogin());
         } catch (Exception e) {
             log.error("Error while update user: {}", e.getMessage(), e);
             throw new DatabaseOperationException("An error occurred while update a user", e);
         }
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean markVerified(String login) throws DatabaseOperationException {
+        try {
+            Optional<VerifiedUser> verified = usersRepository.markVerified(login.toLowerCase(Locale.ROOT));
+            verified.ifPresent(user -> {
+                outboxService.record(AuthEvent.userVerified(user.getId(), login));
+                userCache.invalidate(login, user.getEmail());
+            });
+            return verified.isPresent();
+        } catch (Exception e) {
+            log.error("Error while verifying user: {}", e.getMessage(), e);
+            throw new DatabaseOperationException("An error occurred while verifying a user", e);
+        }
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public boolean updatePasswordHash(CachedUser user, String newHash) {
+        if (usersRepository.updatePasswordHash(user.getId(), user.getPassword(), newHash) == 0) {
+            return false;
+        }
+        userCache.invalidate(user.getLogin(), user.getEmail());
+        log.debug("Password hash of user [{}] upgraded", user.getId());
+        return true;
+    }
+
     @Transactional(readOnly = true)
     public Optional<Users> findByLogin(String login) {
         return usersRepository.findByLogin(login);
@@ -62,4 +108,24 @@ public class UsersService {
     public Optional<Users> findByLoginOrEmail(String login, String email) {
         return usersRepository.findByLoginOrEmail(login, email);
     }
+
+    public Optional<CachedUser> findByIdentifier(String identifier) {
+        String normalized = identifier.strip().toLowerCase(Locale.ROOT);
+        return isEmail(normalized)
+                ? userCache.getByEmail(normalized, () -> usersRepository.findByLowerEmail(normalized).map(CachedUser::from))
+                : userCache.getByLogin(normalized, () -> usersRepository.findByLowerLogin(normalized).map(CachedUser::from));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Users> findById(UUID id) {
+        return usersRepository.findById(id);
+    }
+
+    public Users getReference(UUID id) {
+        return usersRepository.getReferenceById(id);
+    }
+
+    public static boolean isEmail(String identifier) {
+        return identifier.indexOf('@') >= 0;
+    }
 }
\ No newline at end of file
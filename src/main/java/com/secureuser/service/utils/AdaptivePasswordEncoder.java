@@ -0,0 +1,88 @@
+package com.secureuser.service.utils;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AdaptivePasswordEncoder implements PasswordEncoder {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final Pattern BCRYPT_PARAMETERS = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+    private static final Pattern ARGON2_PARAMETERS = Pattern.compile("^\\$argon2id\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+
+    private final DelegatingPasswordEncoder delegate;
+    private final String algorithm;
+    private final int bcryptStrength;
+    private final int argon2Memory;
+    private final int argon2Iterations;
+    private final int argon2Parallelism;
+
+    public AdaptivePasswordEncoder(String algorithm, int bcryptStrength, int argon2Memory, int argon2Iterations, int argon2Parallelism) {
+        if (!BCRYPT.equals(algorithm) && !ARGON2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password hashing algorithm " + algorithm);
+        }
+        this.algorithm = algorithm;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2Memory = argon2Memory;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        this.delegate = new DelegatingPasswordEncoder(algorithm, Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, argon2(argon2Memory, argon2Iterations, argon2Parallelism)
+        ));
+        this.delegate.setDefaultPasswordEncoderForMatches(bcrypt);
+    }
+
+    public static Argon2PasswordEncoder argon2(int memory, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memory, iterations);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+
+        String id = BCRYPT;
+        String hash = encodedPassword;
+        int end = encodedPassword.indexOf('}');
+        if (encodedPassword.startsWith("{") && end > 0) {
+            id = encodedPassword.substring(1, end);
+            hash = encodedPassword.substring(end + 1);
+        }
+        if (!algorithm.equals(id)) {
+            return true;
+        }
+
+        if (BCRYPT.equals(id)) {
+            Matcher parameters = BCRYPT_PARAMETERS.matcher(hash);
+            return !parameters.find() || Integer.parseInt(parameters.group(1)) != bcryptStrength;
+        }
+        Matcher parameters = ARGON2_PARAMETERS.matcher(hash);
+        return !parameters.find()
+                || Integer.parseInt(parameters.group(1)) != argon2Memory
+                || Integer.parseInt(parameters.group(2)) != argon2Iterations
+                || Integer.parseInt(parameters.group(3)) != argon2Parallelism;
+    }
+}
@@ -1,9 +1,14 @@
 package com.secureuser.service.utils;
 
+import com.secureuser.service.dto.TokenPair;
 import com.secureuser.service.proto.user.auth.AuthResponse;
 import com.secureuser.service.proto.user.auth.Error;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.netty.handler.codec.http.HttpResponseStatus;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.UUID;
+
 @Slf4j
 public class GRPCHelperMessage {
 
@@ -16,8 +21,36 @@ public class GRPCHelperMessage {
 
     }
 
+    public static void formulateTokenResponse(TokenPair tokens, UUID sessionId, AuthResponse.Builder responseBuilder) {
+        responseBuilder.setStatusCode(HttpResponseStatus.OK.code());
+        responseBuilder.setMessageCode(HttpResponseStatus.OK.reasonPhrase());
+        responseBuilder.setAccessToken(tokens.getAccessToken().getToken());
+        responseBuilder.setRefreshToken(tokens.getRefreshToken().getToken());
+        responseBuilder.setExpiresIn(tokens.getAccessToken().getLifeTime());
+        responseBuilder.setSessionId(sessionId.toString());
+    }
+
+    public static int httpStatusOf(Status.Code code) {
+        return switch (code) {
+            case OK -> HttpResponseStatus.OK.code();
+            case INVALID_ARGUMENT, FAILED_PRECONDITION, OUT_OF_RANGE -> HttpResponseStatus.BAD_REQUEST.code();
+            case UNAUTHENTICATED -> HttpResponseStatus.UNAUTHORIZED.code();
+            case PERMISSION_DENIED -> HttpResponseStatus.FORBIDDEN.code();
+            case NOT_FOUND -> HttpResponseStatus.NOT_FOUND.code();
+            case ALREADY_EXISTS, ABORTED -> HttpResponseStatus.CONFLICT.code();
+            case RESOURCE_EXHAUSTED -> HttpResponseStatus.TOO_MANY_REQUESTS.code();
+            case CANCELLED -> 499;
+            case UNIMPLEMENTED -> HttpResponseStatus.NOT_IMPLEMENTED.code();
+            case UNAVAILABLE -> HttpResponseStatus.SERVICE_UNAVAILABLE.code();
+            case DEADLINE_EXCEEDED -> HttpResponseStatus.GATEWAY_TIMEOUT.code();
+            case INTERNAL, UNKNOWN, DATA_LOSS -> HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
+        };
+    }
+
     private static void formulateAResponse(int statusCode, String messageCode, Error errorMessage, AuthResponse.Builder responseBuilder) {
-        log.info("Formulate error response: [{} - {}] {}", statusCode, messageCode, errorMessage);
+        if (log.isDebugEnabled()) {
+            log.debug("Formulate error response: [{} - {}] {}", statusCode, messageCode, errorMessage.getErrorMessage());
+        }
         responseBuilder.setStatusCode(statusCode)
                 .setMessageCode(messageCode)
                 .setError(errorMessage);
@@ -0,0 +1,114 @@
+package com.secureuser.service.utils;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class JwkUtils {
+
+    public static final String PRIVATE_KEY_SUFFIX = ".key";
+    public static final String PUBLIC_KEY_SUFFIX = ".pub";
+
+    private static final int P256_COORDINATE_LENGTH = 32;
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    public static String keyFamily(String algorithm) {
+        return switch (algorithm) {
+            case "ES256" -> "EC";
+            case "EdDSA" -> "Ed25519";
+            default -> throw new IllegalStateException("Unsupported JWT signing algorithm: " + algorithm);
+        };
+    }
+
+    public static PrivateKey readPrivateKey(Path path, String keyFamily) {
+        try {
+            return KeyFactory.getInstance(keyFamily).generatePrivate(new PKCS8EncodedKeySpec(readPem(path)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to read private key " + path, e);
+        }
+    }
+
+    public static Map<String, PublicKey> readPublicKeys(Path directory, String keyFamily) {
+        Map<String, PublicKey> keys = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(PUBLIC_KEY_SUFFIX)).forEach(file -> {
+                String name = file.getFileName().toString();
+                keys.put(name.substring(0, name.length() - PUBLIC_KEY_SUFFIX.length()), readPublicKey(file, keyFamily));
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to list signing keys in " + directory, e);
+        }
+        return keys;
+    }
+
+    public static PublicKey readPublicKey(Path path, String keyFamily) {
+        try {
+            return KeyFactory.getInstance(keyFamily).generatePublic(new X509EncodedKeySpec(readPem(path)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to read public key " + path, e);
+        }
+    }
+
+    public static Map<String, Object> toPublicJwk(String keyId, PublicKey key, String algorithm) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (key instanceof ECPublicKey ecKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsigned(ecKey.getW().getAffineX(), P256_COORDINATE_LENGTH)));
+            jwk.put("y", base64Url(unsigned(ecKey.getW().getAffineY(), P256_COORDINATE_LENGTH)));
+        } else {
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length)));
+        }
+        jwk.put("kid", keyId);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        return jwk;
+    }
+
+    public static String toPem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] readPem(Path path) {
+        try {
+            String pem = Files.readString(path).replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read key file " + path, e);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] result = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, result, length - copy, copy);
+        return result;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package com.secureuser.service.utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+
+public class JwtSigningKeyGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.out.println("Usage: JwtSigningKeyGenerator <ES256|EdDSA> <key-directory> <key-id>");
+            return;
+        }
+
+        String algorithm = args[0];
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(JwkUtils.keyFamily(algorithm));
+        if ("ES256".equals(algorithm)) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        KeyPair keyPair = generator.generateKeyPair();
+
+        Path directory = Files.createDirectories(Path.of(args[1]));
+        Path privateKey = directory.resolve(args[2] + JwkUtils.PRIVATE_KEY_SUFFIX);
+        if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(privateKey, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(privateKey);
+        }
+        Files.writeString(privateKey, JwkUtils.toPem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        Files.writeString(directory.resolve(args[2] + JwkUtils.PUBLIC_KEY_SUFFIX), JwkUtils.toPem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+
+        System.out.println("Generated " + algorithm + " signing key [" + args[2] + "] in " + directory.toAbsolutePath());
+    }
+}
@@ -2,47 +2,97 @@ package com.secureuser.service.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.MacAlgorithm;
+import io.jsonwebtoken.security.SignatureAlgorithm;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
-    @Value("${spring.security.jwt.secret}")
+    @Value("${spring.security.jwt.secret:}")
     private String secret;
 
-    private SecretKey signingKey;
+    @Value("${spring.security.jwt.signing.algorithm}")
+    private String algorithm;
+
+    @Value("${spring.security.jwt.signing.key-directory}")
+    private String keyDirectory;
+
+    @Value("${spring.security.jwt.signing.active-key-id}")
+    private String activeKeyId;
+
+    @Value("${spring.security.jwt.signing.hmac-fallback}")
+    private boolean hmacFallback;
+
+    private UnaryOperator<JwtBuilder> signer;
     private JwtParser jwtParser;
-    private final MacAlgorithm signatureAlgorithm = Jwts.SIG.HS512;
+    private List<Map<String, Object>> publicJwks = List.of();
+    private final MacAlgorithm hmacAlgorithm = Jwts.SIG.HS512;
 
     @PostConstruct
     public void init() {
-        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
-        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        if (hmacAlgorithm.getId().equals(algorithm)) {
+            SecretKey signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+            this.signer = builder -> builder.signWith(signingKey, hmacAlgorithm);
+            this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+            return;
+        }
+
+        String keyFamily = JwkUtils.keyFamily(algorithm);
+        SignatureAlgorithm signatureAlgorithm = "ES256".equals(algorithm) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+        Path directory = Path.of(keyDirectory);
+        Map<String, PublicKey> verificationKeys = JwkUtils.readPublicKeys(directory, keyFamily);
+        if (!verificationKeys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("No public key found for active signing key " + activeKeyId);
+        }
+        PrivateKey signingKey = JwkUtils.readPrivateKey(directory.resolve(activeKeyId + JwkUtils.PRIVATE_KEY_SUFFIX), keyFamily);
+        SecretKey legacyKey = hmacFallback && !secret.isBlank() ? Keys.hmacShaKeyFor(secret.getBytes()) : null;
+        if (legacyKey != null) {
+            log.warn("HS512 tokens without kid are still accepted with the shared secret, disable hmac-fallback once they have expired");
+        }
+
+        this.signer = builder -> builder.header().keyId(activeKeyId).and().signWith(signingKey, signatureAlgorithm);
+        this.jwtParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return header.getKeyId() == null ? legacyKey : verificationKeys.get(header.getKeyId());
+            }
+        }).build();
+        this.publicJwks = verificationKeys.entrySet().stream()
+                .map(entry -> JwkUtils.toPublicJwk(entry.getKey(), entry.getValue(), algorithm))
+                .toList();
+        log.info("JWT signing with {} key [{}], [{}] verification keys published", algorithm, activeKeyId, verificationKeys.size());
     }
 
     public String generateToken(JwtBuilder builder) {
-        return builder
-                .signWith(signingKey, signatureAlgorithm)
-                .compact();
+        return signer.apply(builder).compact();
     }
 
     public Jws<Claims> validateToken(String token) {
         try {
             return jwtParser.parseSignedClaims(token);
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.warn("Invalid JWT token: {}", e.getMessage());
             return null;
         }
@@ -58,7 +108,11 @@ public class JwtUtils {
         return jws != null ? jws.getPayload() : null;
     }
 
+    public List<Map<String, Object>> getPublicJwks() {
+        return publicJwks;
+    }
+
     private boolean isTokenExpired(Claims claims) {
         return claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.secureuser.service.utils;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public class PasswordCostCalibrator {
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MIN_ARGON2_ITERATIONS = 2;
+    private static final int MAX_ARGON2_ITERATIONS = 20;
+    private static final int DEFAULT_ARGON2_MEMORY = 19456;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("Usage: PasswordCostCalibrator <target-ms> [argon2-memory-kib] [argon2-parallelism]");
+            return;
+        }
+
+        Duration target = Duration.ofMillis(Long.parseLong(args[0]));
+        int memory = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ARGON2_MEMORY;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        int strength = bcryptStrength(target);
+        int iterations = argon2Iterations(target, memory, parallelism);
+        System.out.printf("Target %d ms per hash on %d cores%n", target.toMillis(), Runtime.getRuntime().availableProcessors());
+        System.out.printf("bcrypt: strength %d (%d ms)%n", strength, median(new BCryptPasswordEncoder(strength)).toMillis());
+        System.out.printf("argon2: memory %d KiB, iterations %d, parallelism %d (%d ms)%n", memory, iterations, parallelism,
+                median(AdaptivePasswordEncoder.argon2(memory, iterations, parallelism)).toMillis());
+    }
+
+    public static int bcryptStrength(Duration target) {
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && median(new BCryptPasswordEncoder(strength)).multipliedBy(2).compareTo(target) <= 0) {
+            strength++;
+        }
+        return strength;
+    }
+
+    public static int argon2Iterations(Duration target, int memory, int parallelism) {
+        long perIteration = Math.max(1, median(AdaptivePasswordEncoder.argon2(memory, 1, parallelism)).toNanos());
+        long iterations = target.toNanos() / perIteration;
+        return (int) Math.max(MIN_ARGON2_ITERATIONS, Math.min(MAX_ARGON2_ITERATIONS, iterations));
+    }
+
+    private static Duration median(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
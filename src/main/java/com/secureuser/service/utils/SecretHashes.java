@@ -0,0 +1,27 @@
+package com.secureuser.service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+public class SecretHashes {
+
+    public static String sha256Hex(String secret) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static boolean matches(String expectedHash, String secret) {
+        if (expectedHash == null || expectedHash.isBlank() || secret == null || secret.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                expectedHash.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII),
+                sha256Hex(secret).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_column_platforms_v1 context:dev,prod labels:add_column_platforms_v1
+ALTER TABLE platforms ADD COLUMN api_key_hash varchar(64);
+
+-- rollback ALTER TABLE platforms DROP COLUMN api_key_hash;
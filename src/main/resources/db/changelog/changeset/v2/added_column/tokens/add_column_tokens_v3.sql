@@ -0,0 +1,17 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_column_tokens_v3 context:dev,prod labels:add_column_tokens_v3
+ALTER TABLE tokens ADD COLUMN jti UUID;
+
+UPDATE tokens
+SET jti = (convert_from(
+        decode(
+            rpad(translate(split_part(token, '.', 2), '-_', '+/'),
+                 ((length(split_part(token, '.', 2)) + 3) / 4) * 4, '='),
+            'base64'),
+        'UTF8')::json ->> 'jti')::UUID
+WHERE jti IS NULL;
+
+ALTER TABLE tokens ALTER COLUMN jti SET NOT NULL;
+
+-- rollback ALTER TABLE tokens DROP COLUMN jti;
@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_comments_all_tables_v3 context:dev,prod labels:add_comments_all_tables_v3
+COMMENT ON TABLE tokens IS 'Таблица для хранения активных и отозванных JWT токенов пользователей. Секционирована по expires_at помесячно.';
+COMMENT ON COLUMN tokens.id IS 'Уникальный идентификатор токена.';
+COMMENT ON COLUMN tokens.user_id IS 'Идентификатор пользователя, которому принадлежит токен.';
+COMMENT ON COLUMN tokens.token IS 'JWT токен пользователя.';
+COMMENT ON COLUMN tokens.revoked IS 'Признак soft-delete для токенов. Если true - токен отозван.';
+COMMENT ON COLUMN tokens.created_at IS 'Дата создания токена.';
+COMMENT ON COLUMN tokens.expires_at IS 'Дата истечения срока действия токена. Ключ секционирования.';
+COMMENT ON COLUMN tokens.token_type IS 'Тип токена: ACCESS или REFRESH.';
+COMMENT ON COLUMN tokens.session_id IS 'Идентификатор сессии, в рамках которой выдан токен.';
+COMMENT ON TABLE tokens_default IS 'Секция по умолчанию для токенов, не попавших в помесячные секции.';
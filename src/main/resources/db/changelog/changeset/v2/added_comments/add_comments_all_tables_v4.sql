@@ -0,0 +1,4 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_comments_all_tables_v4 context:dev,prod labels:add_comments_all_tables_v4
+COMMENT ON COLUMN tokens.jti IS 'Идентификатор JWT (claim jti), используется для поиска токена вместо полной строки.';
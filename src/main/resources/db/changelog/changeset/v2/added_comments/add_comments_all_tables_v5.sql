@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_comments_all_tables_v5 context:dev,prod labels:add_comments_all_tables_v5
+COMMENT ON TABLE revocation_epochs IS 'Эпохи отзыва: токены сессии или пользователя, выпущенные не позже revoked_before, недействительны.';
+COMMENT ON COLUMN revocation_epochs.scope IS 'Область отзыва: SESSION или USER.';
+COMMENT ON COLUMN revocation_epochs.subject_id IS 'Идентификатор сессии или пользователя.';
+COMMENT ON COLUMN revocation_epochs.revoked_before IS 'Момент отзыва (с точностью до секунды), сравнивается с iat токена.';
+COMMENT ON COLUMN revocation_epochs.expires_at IS 'Момент, после которого все затронутые токены истекли и запись можно удалить.';
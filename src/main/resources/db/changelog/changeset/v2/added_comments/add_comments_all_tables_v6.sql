@@ -0,0 +1,10 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_comments_all_tables_v6 context:dev,prod labels:add_comments_all_tables_v6
+COMMENT ON TABLE outbox_events IS 'Исходящие события аутентификации, ожидающие отправки в Kafka (transactional outbox).';
+COMMENT ON COLUMN outbox_events.id IS 'Порядковый номер события, определяет порядок отправки.';
+COMMENT ON COLUMN outbox_events.event_id IS 'Уникальный идентификатор события для дедупликации на стороне потребителей.';
+COMMENT ON COLUMN outbox_events.event_type IS 'Тип события: USER_REGISTERED, USER_VERIFIED, TOKENS_ISSUED.';
+COMMENT ON COLUMN outbox_events.aggregate_id IS 'Идентификатор пользователя, используется как ключ сообщения Kafka.';
+COMMENT ON COLUMN outbox_events.payload IS 'Тело события в формате JSON.';
+COMMENT ON COLUMN outbox_events.created_at IS 'Дата и время записи события.';
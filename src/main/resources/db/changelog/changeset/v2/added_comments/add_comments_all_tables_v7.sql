@@ -0,0 +1,4 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_comments_all_tables_v7 context:dev,prod labels:add_comments_all_tables_v7
+COMMENT ON COLUMN platforms.api_key_hash IS 'SHA-256 (hex) ключа доверенной платформы для входа через LoginWithPlatform; без ключа вход платформы запрещён.';
@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_indexes_tokens_v3 context:dev,prod labels:add_indexes_tokens_v3
+CREATE INDEX IF NOT EXISTS idx_tokens_session_id ON tokens(session_id);
+
+-- rollback DROP INDEX IF EXISTS idx_tokens_session_id;
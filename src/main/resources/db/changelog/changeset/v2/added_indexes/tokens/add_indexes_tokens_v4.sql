@@ -0,0 +1,6 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_indexes_tokens_v4 context:dev,prod labels:add_indexes_tokens_v4
+CREATE INDEX IF NOT EXISTS idx_tokens_jti ON tokens(jti);
+
+-- rollback DROP INDEX IF EXISTS idx_tokens_jti;
@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_indexes_tokens_v5 context:dev,prod labels:add_indexes_tokens_v5
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tokens_jti_expires_at ON tokens(jti, expires_at);
+DROP INDEX IF EXISTS idx_tokens_jti;
+
+-- rollback CREATE INDEX IF NOT EXISTS idx_tokens_jti ON tokens(jti);
+-- rollback DROP INDEX IF EXISTS uq_tokens_jti_expires_at;
@@ -0,0 +1,8 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_indexes_user_platforms_v2 context:dev,prod labels:add_indexes_user_platforms_v2
+-- preconditions onFail:HALT onError:HALT
+-- precondition-sql-check expectedResult:0 SELECT count(*) FROM (SELECT platform_id, platform_user_id FROM user_platforms GROUP BY platform_id, platform_user_id HAVING count(*) > 1) duplicates
+CREATE UNIQUE INDEX IF NOT EXISTS uq_user_platforms_platform_user ON user_platforms(platform_id, platform_user_id) INCLUDE (user_id);
+
+-- rollback DROP INDEX IF EXISTS uq_user_platforms_platform_user;
@@ -0,0 +1,9 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:add_indexes_users_v1 context:dev,prod labels:add_indexes_users_v1
+-- preconditions onFail:HALT onError:HALT
+-- precondition-sql-check expectedResult:0 SELECT count(*) FROM (SELECT lower(login) FROM users GROUP BY lower(login) HAVING count(*) > 1 UNION ALL SELECT lower(email) FROM users GROUP BY lower(email) HAVING count(*) > 1) duplicates
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_login_lower ON users(lower(login));
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_email_lower ON users(lower(email));
+
+-- rollback DROP INDEX IF EXISTS uq_users_login_lower; DROP INDEX IF EXISTS uq_users_email_lower;
@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:create-table-outbox-events context:dev,prod labels:create-table-outbox-events
+CREATE TABLE IF NOT EXISTS public.outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id UUID NOT NULL DEFAULT gen_random_uuid(),
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- rollback DROP TABLE IF EXISTS outbox_events;
@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:create-table-revocation-epochs context:dev,prod labels:create-table-revocation-epochs
+CREATE TABLE IF NOT EXISTS public.revocation_epochs (
+    scope VARCHAR(16) NOT NULL,
+    subject_id UUID NOT NULL,
+    revoked_before TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_revocation_epochs PRIMARY KEY (scope, subject_id)
+);
+CREATE INDEX IF NOT EXISTS idx_revocation_epochs_expires_at ON revocation_epochs(expires_at);
+
+-- rollback DROP TABLE IF EXISTS revocation_epochs;
@@ -0,0 +1,30 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:partition_tokens_v1 context:dev,prod labels:partition_tokens_v1
+ALTER TABLE tokens RENAME TO tokens_legacy;
+ALTER TABLE tokens_legacy DROP CONSTRAINT IF EXISTS fk_tokens_user_id;
+ALTER TABLE tokens_legacy RENAME CONSTRAINT tokens_pkey TO tokens_legacy_pkey;
+DROP INDEX IF EXISTS idx_tokens_user_id;
+DROP INDEX IF EXISTS idx_tokens_token;
+DROP INDEX IF EXISTS idx_tokens_session_id;
+
+CREATE TABLE tokens (
+    id         UUID        NOT NULL DEFAULT gen_random_uuid(),
+    user_id    UUID        NOT NULL,
+    token      VARCHAR     NOT NULL,
+    revoked    BOOLEAN     NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP   NOT NULL DEFAULT NOW(),
+    expires_at TIMESTAMP   NOT NULL,
+    token_type VARCHAR(20) NOT NULL,
+    session_id UUID        NOT NULL,
+    CONSTRAINT tokens_pkey PRIMARY KEY (id, expires_at)
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE tokens_default PARTITION OF tokens DEFAULT;
+
+-- rollback DROP TABLE IF EXISTS tokens CASCADE;
+-- rollback ALTER TABLE tokens_legacy RENAME CONSTRAINT tokens_legacy_pkey TO tokens_pkey;
+-- rollback ALTER TABLE tokens_legacy RENAME TO tokens;
+-- rollback ALTER TABLE tokens ADD CONSTRAINT fk_tokens_user_id FOREIGN KEY (user_id) REFERENCES users(id);
+-- rollback CREATE INDEX IF NOT EXISTS idx_tokens_user_id ON tokens(user_id);
+-- rollback CREATE INDEX IF NOT EXISTS idx_tokens_session_id ON tokens(session_id);
@@ -0,0 +1,20 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:partition_tokens_v2 context:dev,prod labels:partition_tokens_v2 splitStatements:false
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(date_trunc('month', NOW()), date_trunc('month', NOW()) + INTERVAL '2 months', INTERVAL '1 month')::DATE
+    LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF tokens FOR VALUES FROM (%L) TO (%L)',
+            'tokens_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE
+        );
+    END LOOP;
+END $$;
+
+-- rollback SELECT 1;
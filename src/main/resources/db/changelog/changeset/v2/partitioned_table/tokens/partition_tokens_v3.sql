@@ -0,0 +1,32 @@
+-- liquibase formatted sql
+
+-- changeset sergeev:partition_tokens_v3 context:dev,prod labels:partition_tokens_v3
+INSERT INTO tokens (id, user_id, token, revoked, created_at, expires_at, token_type, session_id)
+SELECT id, user_id, token, revoked, created_at, expires_at, token_type, session_id
+FROM tokens_legacy
+WHERE revoked = FALSE
+  AND expires_at > NOW();
+
+DROP TABLE tokens_legacy;
+
+ALTER TABLE tokens
+    ADD CONSTRAINT fk_tokens_user_id FOREIGN KEY (user_id) REFERENCES users(id);
+CREATE INDEX IF NOT EXISTS idx_tokens_user_id ON tokens(user_id);
+CREATE INDEX IF NOT EXISTS idx_tokens_session_id ON tokens(session_id);
+
+-- rollback ALTER TABLE tokens DROP CONSTRAINT IF EXISTS fk_tokens_user_id;
+-- rollback DROP INDEX IF EXISTS idx_tokens_user_id;
+-- rollback DROP INDEX IF EXISTS idx_tokens_session_id;
+-- rollback CREATE TABLE tokens_legacy (
+-- rollback     id         UUID        NOT NULL DEFAULT gen_random_uuid(),
+-- rollback     user_id    UUID        NOT NULL,
+-- rollback     token      VARCHAR     NOT NULL,
+-- rollback     revoked    BOOLEAN     NOT NULL DEFAULT FALSE,
+-- rollback     created_at TIMESTAMP   NOT NULL DEFAULT NOW(),
+-- rollback     expires_at TIMESTAMP   NOT NULL,
+-- rollback     token_type VARCHAR(20) NOT NULL,
+-- rollback     session_id UUID        NOT NULL,
+-- rollback     CONSTRAINT tokens_legacy_pkey PRIMARY KEY (id)
+-- rollback );
+-- rollback INSERT INTO tokens_legacy (id, user_id, token, revoked, created_at, expires_at, token_type, session_id)
+-- rollback SELECT id, user_id, token, revoked, created_at, expires_at, token_type, session_id FROM tokens;
@@ -0,0 +1,106 @@
+package com.secureuser.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureuser.service.dto.CachedUser;
+import com.secureuser.service.service.RedisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private RedisService redisService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private UserCache userCache;
+
+    private final CachedUser user = new CachedUser(UUID.randomUUID(), "testLogin", "test@example.com", "hash", true);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userCache, "ttl", 60L);
+        ReflectionTestUtils.setField(userCache, "redisTtl", 120L);
+        userCache.init();
+    }
+
+    @Test
+    void getByLogin_secondLookupIsServedFromLocalTier() {
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.getByLogin("testlogin", () -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+        Optional<CachedUser> cached = userCache.getByEmail("test@example.com", Optional::empty);
+
+        assertTrue(cached.isPresent());
+        assertEquals(1, loads.get());
+        verify(redisService, never()).saveAllIfAbsent(anyList());
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        AtomicInteger loads = new AtomicInteger();
+        userCache.getByLogin("testlogin", () -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        userCache.invalidate("testLogin", "test@example.com");
+        userCache.getByLogin("testlogin", () -> {
+            loads.incrementAndGet();
+            return Optional.of(user);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getByLogin_redisTierHitSkipsLoader() throws Exception {
+        ReflectionTestUtils.setField(userCache, "redisEnabled", true);
+        ReflectionTestUtils.setField(userCache, "storePasswordHashes", true);
+        userCache.init();
+        String json = objectMapper.writeValueAsString(user);
+        when(redisService.get("user:login:testlogin")).thenReturn(Optional.of(json));
+
+        Optional<CachedUser> cached = userCache.getByLogin("testlogin", () -> {
+            throw new AssertionError("database should not be queried");
+        });
+
+        assertEquals(user.getId(), cached.orElseThrow().getId());
+        verify(redisService, never()).saveAllIfAbsent(anyList());
+    }
+
+    @Test
+    void getByLogin_redisEnabledWithoutHashConsent_staysLocal() {
+        ReflectionTestUtils.setField(userCache, "redisEnabled", true);
+        userCache.init();
+
+        userCache.getByLogin("testlogin", () -> Optional.of(user));
+
+        verifyNoInteractions(redisService);
+    }
+}
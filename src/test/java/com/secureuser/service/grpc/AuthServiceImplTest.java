@@ -0,0 +1,184 @@
+package com.secureuser.service.grpc;
+
+import com.secureuser.service.metrics.AuthMetrics;
+import com.secureuser.service.proto.user.auth.AuthResponse;
+import com.secureuser.service.proto.user.auth.BatchValidateTokenRequest;
+import com.secureuser.service.proto.user.auth.BatchValidateTokenResponse;
+import com.secureuser.service.proto.user.auth.BulkRegisterRequest;
+import com.secureuser.service.proto.user.auth.BulkRegisterResponse;
+import com.secureuser.service.proto.user.auth.LoginRequest;
+import com.secureuser.service.proto.user.auth.RegisterRequest;
+import com.secureuser.service.service.BulkRegistrationService;
+import com.secureuser.service.service.LoginService;
+import com.secureuser.service.service.PasswordHashingExecutor;
+import com.secureuser.service.service.PlatformLoginService;
+import com.secureuser.service.service.RegistrationConfirmationService;
+import com.secureuser.service.service.TokenService;
+import com.secureuser.service.service.TokenValidationService;
+import com.secureuser.service.service.UsersService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UsersService usersService;
+
+    @Mock
+    private RegistrationConfirmationService registrationConfirmationService;
+
+    @Mock
+    private LoginService loginService;
+
+    @Mock
+    private PlatformLoginService platformLoginService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private TokenValidationService tokenValidationService;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private BulkRegistrationService bulkRegistrationService;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void login_hashingExecutorSaturated_failsWithResourceExhausted() {
+        StreamObserver<AuthResponse> response = mock(StreamObserver.class);
+        doThrow(new RejectedExecutionException("queue full"))
+                .when(loginService).authenticationWithEmail(eq("alice"), eq("secret"), any(UUID.class), any(AuthResponse.Builder.class));
+
+        authService.login(LoginRequest.newBuilder().setLogin("alice").setPassword("secret").build(), response);
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, capturedError(response).getCode());
+        verify(response, never()).onNext(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void register_hashingExecutorSaturated_failsWithResourceExhausted() throws Exception {
+        StreamObserver<AuthResponse> response = mock(StreamObserver.class);
+        when(usersService.save("alice", "alice@example.com", "secret")).thenThrow(new RejectedExecutionException("queue full"));
+
+        authService.register(RegisterRequest.newBuilder().setLogin("alice").setEmail("alice@example.com").setPassword("secret").build(), response);
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, capturedError(response).getCode());
+        verify(registrationConfirmationService, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchValidateToken_tooManyTokens_rejectedWithInvalidArgument() {
+        StreamObserver<BatchValidateTokenResponse> response = mock(StreamObserver.class);
+        when(tokenValidationService.getMaxBatchSize()).thenReturn(2);
+
+        authService.batchValidateToken(BatchValidateTokenRequest.newBuilder()
+                .addAllAccessTokens(List.of("a", "b", "c"))
+                .build(), response);
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, capturedError(response).getCode());
+        verify(tokenValidationService, never()).validateAll(anyList());
+        verify(response, never()).onNext(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchValidateToken_withinLimit_validatesAll() {
+        StreamObserver<BatchValidateTokenResponse> response = mock(StreamObserver.class);
+        BatchValidateTokenResponse result = BatchValidateTokenResponse.getDefaultInstance();
+        when(tokenValidationService.getMaxBatchSize()).thenReturn(2);
+        when(tokenValidationService.validateAll(List.of("a", "b"))).thenReturn(result);
+
+        authService.batchValidateToken(BatchValidateTokenRequest.newBuilder()
+                .addAllAccessTokens(List.of("a", "b"))
+                .build(), response);
+
+        verify(response).onNext(result);
+        verify(response).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkRegister_streamOverUserCap_abortedWithInvalidArgument() {
+        StreamObserver<BulkRegisterResponse> response = mock(StreamObserver.class);
+        when(bulkRegistrationService.isEnabled()).thenReturn(true);
+        when(bulkRegistrationService.getChunkSize()).thenReturn(10);
+        when(bulkRegistrationService.getMaxUsersPerStream()).thenReturn(2L);
+
+        StreamObserver<BulkRegisterRequest> request = authService.bulkRegister(response);
+        for (int i = 0; i < 3; i++) {
+            request.onNext(BulkRegisterRequest.newBuilder().setLogin("user" + i).build());
+        }
+        request.onCompleted();
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, capturedError(response).getCode());
+        verify(bulkRegistrationService, never()).importChunk(anyInt(), anyLong(), anyList());
+        verify(response, never()).onCompleted();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkRegister_requestsNextMessageOnlyAfterChunkIsImported() {
+        ServerCallStreamObserver<BulkRegisterResponse> response = mock(ServerCallStreamObserver.class);
+        when(bulkRegistrationService.isEnabled()).thenReturn(true);
+        when(bulkRegistrationService.getChunkSize()).thenReturn(2);
+        when(bulkRegistrationService.getMaxUsersPerStream()).thenReturn(10L);
+        when(bulkRegistrationService.importChunk(anyInt(), anyLong(), anyList())).thenReturn(BulkRegisterResponse.getDefaultInstance());
+
+        StreamObserver<BulkRegisterRequest> request = authService.bulkRegister(response);
+        request.onNext(BulkRegisterRequest.newBuilder().setLogin("user0").build());
+        request.onNext(BulkRegisterRequest.newBuilder().setLogin("user1").build());
+
+        InOrder inOrder = inOrder(response, bulkRegistrationService);
+        inOrder.verify(response).disableAutoRequest();
+        inOrder.verify(response, times(2)).request(1);
+        inOrder.verify(bulkRegistrationService).importChunk(eq(0), eq(0L), anyList());
+        inOrder.verify(response).onNext(BulkRegisterResponse.getDefaultInstance());
+        inOrder.verify(response).request(1);
+    }
+
+    private Status capturedError(StreamObserver<?> response) {
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(response).onError(error.capture());
+        return Status.fromThrowable(error.getValue());
+    }
+}
@@ -0,0 +1,91 @@
+package com.secureuser.service.grpc;
+
+import com.secureuser.service.proto.user.auth.AuthServiceGrpc;
+import com.secureuser.service.utils.SecretHashes;
+import io.grpc.Attributes;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"rawtypes", "unchecked"})
+class BulkImportAuthInterceptorTest {
+
+    private static final String OPERATOR_KEY = "operator-secret";
+
+    @Mock
+    private ServerCall call;
+
+    @Mock
+    private ServerCallHandler next;
+
+    private final BulkImportAuthInterceptor interceptor = new BulkImportAuthInterceptor();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(interceptor, "operatorKeyHash", SecretHashes.sha256Hex(OPERATOR_KEY));
+    }
+
+    @Test
+    void bulkRegister_validOperatorKey_startsCall() {
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor) AuthServiceGrpc.getBulkRegisterMethod());
+        Metadata headers = new Metadata();
+        headers.put(BulkImportAuthInterceptor.OPERATOR_KEY, OPERATOR_KEY);
+
+        interceptor.interceptCall(call, headers, next);
+
+        verify(next).startCall(call, headers);
+        verify(call, never()).close(any(), any());
+    }
+
+    @Test
+    void bulkRegister_missingOperatorKey_closedAsUnauthenticated() {
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor) AuthServiceGrpc.getBulkRegisterMethod());
+        when(call.getAttributes()).thenReturn(Attributes.EMPTY);
+
+        interceptor.interceptCall(call, new Metadata(), next);
+
+        ArgumentCaptor<Status> status = ArgumentCaptor.forClass(Status.class);
+        verify(call).close(status.capture(), any(Metadata.class));
+        assertEquals(Status.Code.UNAUTHENTICATED, status.getValue().getCode());
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void bulkRegister_noConfiguredKey_rejectsEveryCaller() {
+        ReflectionTestUtils.setField(interceptor, "operatorKeyHash", "");
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor) AuthServiceGrpc.getBulkRegisterMethod());
+        when(call.getAttributes()).thenReturn(Attributes.EMPTY);
+        Metadata headers = new Metadata();
+        headers.put(BulkImportAuthInterceptor.OPERATOR_KEY, OPERATOR_KEY);
+
+        interceptor.interceptCall(call, headers, next);
+
+        verify(next, never()).startCall(any(), any());
+    }
+
+    @Test
+    void otherMethods_passThroughWithoutKey() {
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor) AuthServiceGrpc.getLoginMethod());
+        Metadata headers = new Metadata();
+
+        interceptor.interceptCall(call, headers, next);
+
+        verify(next).startCall(call, headers);
+    }
+}
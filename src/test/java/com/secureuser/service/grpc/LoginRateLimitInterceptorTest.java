@@ -0,0 +1,160 @@
+package com.secureuser.service.grpc;
+
+import com.secureuser.service.dto.RateLimitDecision;
+import com.secureuser.service.proto.user.auth.AuthResponse;
+import com.secureuser.service.proto.user.auth.AuthServiceGrpc;
+import com.secureuser.service.proto.user.auth.LoginRequest;
+import com.secureuser.service.proto.user.auth.ValidateTokenRequest;
+import com.secureuser.service.proto.user.auth.ValidateTokenResponse;
+import com.secureuser.service.service.LoginRateLimiter;
+import io.grpc.Attributes;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginRateLimitInterceptorTest {
+
+    private static final LoginRequest LOGIN = LoginRequest.newBuilder().setLogin("alice").setPassword("secret").build();
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger validations = new AtomicInteger();
+
+    private Server server;
+    private ManagedChannel channel;
+    private AuthServiceGrpc.AuthServiceBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new CountingAuthService(), new LoginRateLimitInterceptor(loginRateLimiter)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = AuthServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void login_allowed_reachesService() {
+        when(loginRateLimiter.tryAcquire(anyString(), eq("alice"))).thenReturn(RateLimitDecision.ALLOWED);
+
+        stub.login(LOGIN);
+
+        assertEquals(1, logins.get());
+    }
+
+    @Test
+    void login_rejected_closedAsResourceExhaustedWithRetryPushback() {
+        when(loginRateLimiter.tryAcquire(anyString(), eq("alice")))
+                .thenReturn(new RateLimitDecision(LoginRateLimiter.IP_SCOPE, Duration.ofMillis(1500)));
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () -> stub.login(LOGIN));
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+        assertEquals("1500", e.getTrailers().get(LoginRateLimitInterceptor.RETRY_PUSHBACK));
+        assertEquals(0, logins.get());
+    }
+
+    @Test
+    void otherMethods_passThroughWithoutRateLimit() {
+        stub.validateToken(ValidateTokenRequest.newBuilder().setAccessToken("token").build());
+
+        assertEquals(1, validations.get());
+        verifyNoInteractions(loginRateLimiter);
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void login_rejected_suppressesHalfClose() {
+        ServerCall call = mock(ServerCall.class);
+        ServerCallHandler next = mock(ServerCallHandler.class);
+        ServerCall.Listener delegate = mock(ServerCall.Listener.class);
+        when(call.getMethodDescriptor()).thenReturn((MethodDescriptor) AuthServiceGrpc.getLoginMethod());
+        when(call.getAttributes()).thenReturn(Attributes.EMPTY);
+        when(next.startCall(any(), any())).thenReturn(delegate);
+        when(loginRateLimiter.tryAcquire(anyString(), eq("alice")))
+                .thenReturn(new RateLimitDecision(LoginRateLimiter.ACCOUNT_SCOPE, Duration.ofSeconds(1)));
+
+        ServerCall.Listener listener = new LoginRateLimitInterceptor(loginRateLimiter).interceptCall(call, new Metadata(), next);
+        listener.onMessage(LOGIN);
+        listener.onHalfClose();
+
+        verify(call).close(any(Status.class), any(Metadata.class));
+        verify(delegate, never()).onMessage(any());
+        verify(delegate, never()).onHalfClose();
+    }
+
+    @Test
+    void peerAddress_ipv6_truncatedToSlash64() throws IOException {
+        InetSocketAddress remote = new InetSocketAddress(InetAddress.getByName("2001:db8:1:2:3:4:5:6"), 50051);
+
+        assertEquals("2001:db8:1:2:0:0:0:0/64", LoginRateLimitInterceptor.peerAddress(remote));
+    }
+
+    @Test
+    void peerAddress_ipv4_keptAsIs() throws IOException {
+        InetSocketAddress remote = new InetSocketAddress(InetAddress.getByName("10.0.0.1"), 50051);
+
+        assertEquals("10.0.0.1", LoginRateLimitInterceptor.peerAddress(remote));
+    }
+
+    private class CountingAuthService extends AuthServiceGrpc.AuthServiceImplBase {
+
+        @Override
+        public void login(LoginRequest request, StreamObserver<AuthResponse> responseObserver) {
+            logins.incrementAndGet();
+            responseObserver.onNext(AuthResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void validateToken(ValidateTokenRequest request, StreamObserver<ValidateTokenResponse> responseObserver) {
+            validations.incrementAndGet();
+            responseObserver.onNext(ValidateTokenResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.secureuser.service.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AuthMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthMetrics authMetrics = new AuthMetrics(meterRegistry);
+
+    @Test
+    void recordRpc_registersTimerAndOutcomeCounterPerMessageCode() {
+        authMetrics.recordRpc(authMetrics.startRpc(), "login", "OK");
+        authMetrics.recordRpc(authMetrics.startRpc(), "login", "OK");
+        authMetrics.recordRpc(authMetrics.startRpc(), "login", "INVALID_CREDENTIALS");
+
+        assertEquals(2, meterRegistry.get("auth.rpc.duration").tags("rpc", "login", "message_code", "OK").timer().count());
+        assertEquals(2.0, meterRegistry.get("auth.rpc.outcomes").tags("rpc", "login", "message_code", "OK").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.rpc.outcomes").tags("message_code", "INVALID_CREDENTIALS").counter().count());
+    }
+
+    @Test
+    void timeBcrypt_returnsResultAndRecordsDuration() {
+        boolean matches = authMetrics.timeBcrypt("matches", () -> true);
+
+        assertEquals(true, matches);
+        assertEquals(1, meterRegistry.get("auth.bcrypt.duration").tag("operation", "matches").timer().count());
+    }
+}
@@ -0,0 +1,158 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.AuthEvent;
+import com.secureuser.service.metrics.AuthMetrics;
+import com.secureuser.service.proto.user.auth.BulkRegisterRequest;
+import com.secureuser.service.proto.user.auth.BulkRegisterResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkRegistrationServiceTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7T0jz4bS6rO2xQG8mZ1eJ2K";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder encoder;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private BulkRegistrationService bulkRegistrationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkRegistrationService, "hashingThreads", 2);
+        bulkRegistrationService.init();
+        lenient().when(retryingTransactionExecutor.execute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkRegistrationService.shutdown();
+    }
+
+    @Test
+    void importChunk_hashesPlaintextKeepsPreHashedAndReportsConflicts() {
+        when(encoder.encode("secret")).thenReturn("hashed-secret");
+        insertReturnsLogins("alice");
+
+        BulkRegisterResponse response = bulkRegistrationService.importChunk(3, 1500, List.of(
+                user("alice", "alice@example.com").setPassword("secret").build(),
+                user("bob", "bob@example.com").setPasswordHash(BCRYPT_HASH).build()
+        ));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(3, response.getChunk());
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getSkipped());
+        assertEquals(0, response.getRejected());
+        assertEquals(1501, response.getFailures(0).getIndex());
+        assertEquals("USER_ALREADY_EXISTS", response.getFailures(0).getMessageCode());
+        verify(encoder, times(1)).encode(anyString());
+        verify(outboxService).recordAll(argThat(events -> events.size() == 1 && events.get(0).getPayload().get("login").equals("alice")));
+    }
+
+    @Test
+    void importChunk_rejectsInvalidEntriesAndDuplicatesInsideChunk() {
+        when(encoder.encode("secret")).thenReturn("hashed-secret");
+        insertReturnsLogins("alice");
+
+        BulkRegisterResponse response = bulkRegistrationService.importChunk(0, 0, List.of(
+                user("alice", "alice@example.com").setPassword("secret").build(),
+                user("ALICE", "other@example.com").setPassword("secret").build(),
+                user("carol", "not-an-email").setPassword("secret").build(),
+                user("dave", "dave@example.com").setPasswordHash("plain-text").build(),
+                user("erin", "erin@example.com").build()
+        ));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(4, response.getRejected());
+        assertEquals(List.of("USER_ALREADY_EXISTS", "BAD_REQUEST", "BAD_REQUEST", "BAD_REQUEST"),
+                response.getFailuresList().stream().map(failure -> failure.getMessageCode()).toList());
+    }
+
+    @Test
+    void importChunk_onlyInvalidEntries_skipsDatabase() {
+        BulkRegisterResponse response = bulkRegistrationService.importChunk(0, 0, List.of(user("", "x@example.com").setPassword("secret").build()));
+
+        assertEquals(200, response.getStatusCode());
+        assertEquals(1, response.getRejected());
+        verifyNoInteractions(jdbcTemplate, retryingTransactionExecutor);
+    }
+
+    @Test
+    void importChunk_databaseFailure_reportsChunkAsRetriable() {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        BulkRegisterResponse response = bulkRegistrationService.importChunk(0, 0, List.of(user("bob", "bob@example.com").setPasswordHash(BCRYPT_HASH).build()));
+
+        assertEquals(500, response.getStatusCode());
+        assertEquals(0, response.getCreated());
+        verify(outboxService, never()).recordAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insertReturnsLogins(String... logins) {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<AuthEvent> mapper = invocation.getArgument(1);
+            List<AuthEvent> events = new ArrayList<>();
+            for (String login : logins) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("login")).thenReturn(login);
+                when(rs.getString("email")).thenReturn(login + "@example.com");
+                when(rs.getObject("id", UUID.class)).thenReturn(UUID.randomUUID());
+                events.add(mapper.mapRow(rs, events.size()));
+            }
+            return events;
+        });
+    }
+
+    private BulkRegisterRequest.Builder user(String login, String email) {
+        return BulkRegisterRequest.newBuilder().setLogin(login).setEmail(email);
+    }
+}
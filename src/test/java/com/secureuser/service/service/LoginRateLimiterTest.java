@@ -0,0 +1,125 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.RateLimitDecision;
+import com.secureuser.service.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoginRateLimiterTest {
+
+    @Mock
+    private RedisService redisService;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginRateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 3L);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(loginRateLimiter, "accountCapacity", 2L);
+        ReflectionTestUtils.setField(loginRateLimiter, "accountRefillPerMinute", 1L);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxKeys", 100L);
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterWindow", 60L);
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterIpLimit", 100L);
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterAccountLimit", 10L);
+        loginRateLimiter.init();
+    }
+
+    @Test
+    void tryAcquire_localIpBucketExhausted_rejectsWithRetryAfter() {
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "alice").isAllowed());
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "bob").isAllowed());
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "carol").isAllowed());
+
+        RateLimitDecision decision = loginRateLimiter.tryAcquire("10.0.0.1", "dave");
+
+        assertFalse(decision.isAllowed());
+        assertEquals(LoginRateLimiter.IP_SCOPE, decision.getScope());
+        assertTrue(decision.getRetryAfter().compareTo(Duration.ofSeconds(50)) > 0);
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.2", "dave").isAllowed());
+        verify(authMetrics).recordThrottledLogin(LoginRateLimiter.IP_SCOPE);
+        verifyNoInteractions(redisService);
+    }
+
+    @Test
+    void tryAcquire_sameAccountFromManyAddresses_rejectedByAccountBucket() {
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "Alice").isAllowed());
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.2", " alice ").isAllowed());
+
+        RateLimitDecision decision = loginRateLimiter.tryAcquire("10.0.0.3", "ALICE");
+
+        assertFalse(decision.isAllowed());
+        assertEquals(LoginRateLimiter.ACCOUNT_SCOPE, decision.getScope());
+    }
+
+    @Test
+    void tryAcquire_clusterWindowExceeded_rejectsWithRetryAfterFromRedis() {
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterEnabled", true);
+        when(redisService.execute(any(), anyList(), anyList())).thenReturn(List.of(2L, 1500L));
+
+        RateLimitDecision decision = loginRateLimiter.tryAcquire("10.0.0.1", "Alice");
+
+        assertEquals(LoginRateLimiter.ACCOUNT_SCOPE, decision.getScope());
+        assertEquals(Duration.ofMillis(1500), decision.getRetryAfter());
+        verify(redisService).execute(any(),
+                eq(List.of("rate-limit:login:ip:10.0.0.1", "rate-limit:login:account:alice")),
+                argThat(args -> args.get(0).equals("60000") && args.get(2).equals("100") && args.get(3).equals("10")));
+    }
+
+    @Test
+    void tryAcquire_blankLogin_onlyCountsAddress() {
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterEnabled", true);
+        when(redisService.execute(any(), anyList(), anyList())).thenReturn(List.of(0L, 0L));
+
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", " ").isAllowed());
+        verify(redisService).execute(any(), eq(List.of("rate-limit:login:ip:10.0.0.1")), argThat(args -> args.size() == 3));
+    }
+
+    @Test
+    void tryAcquire_redisUnavailable_fallsBackToLocalBuckets() {
+        ReflectionTestUtils.setField(loginRateLimiter, "clusterEnabled", true);
+        when(redisService.execute(any(), anyList(), anyList())).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "alice").isAllowed());
+        assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "alice").isAllowed());
+        assertFalse(loginRateLimiter.tryAcquire("10.0.0.1", "alice").isAllowed());
+    }
+
+    @Test
+    void tryAcquire_disabled_allowsEverything() {
+        ReflectionTestUtils.setField(loginRateLimiter, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(loginRateLimiter.tryAcquire("10.0.0.1", "alice").isAllowed());
+        }
+        verifyNoInteractions(redisService, authMetrics);
+    }
+}
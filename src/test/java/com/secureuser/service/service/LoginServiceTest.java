@@ -1,24 +1,34 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.dto.CachedUser;
 import com.secureuser.service.dto.TokenObject;
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.model.Users;
 import com.secureuser.service.proto.user.auth.AuthResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
-import static com.secureuser.service.constants.JWTokenType.ACCESS;
-import static com.secureuser.service.constants.JWTokenType.REFRESH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,14 +38,25 @@ class LoginServiceTest {
     private TokenService tokenService;
 
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private PasswordEncoder bCryptPasswordEncoder;
 
     @Mock
     private UsersService usersService;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private LoginService loginService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(passwordHashingExecutor.compute(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+    }
+
     @Test
     void authenticationWithEmail_userNotFound_setsUnauthorizedError() {
         ReflectionTestUtils.setField(loginService, "isRequireVerification", true);
@@ -43,7 +64,7 @@ class LoginServiceTest {
         String email = "unknown@example.com";
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
 
-        when(usersService.findByLoginOrEmail(email, email)).thenReturn(Optional.empty());
+        when(usersService.findByIdentifier(email)).thenReturn(Optional.empty());
 
         loginService.authenticationWithEmail(email, "password", sessionId, responseBuilder);
 
@@ -63,7 +84,7 @@ class LoginServiceTest {
         Users user = new Users();
         user.setIsVerified(false);
 
-        when(usersService.findByLoginOrEmail(email, email)).thenReturn(Optional.of(user));
+        when(usersService.findByIdentifier(email)).thenReturn(Optional.of(CachedUser.from(user)));
 
         loginService.authenticationWithEmail(email, "password", sessionId, responseBuilder);
 
@@ -81,18 +102,19 @@ class LoginServiceTest {
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
 
         Users user = new Users();
+        user.setId(UUID.randomUUID());
         user.setIsVerified(true);
         user.setPassword("hashed-password");
 
-        when(usersService.findByLoginOrEmail(email, email)).thenReturn(Optional.of(user));
+        when(usersService.findByIdentifier(email)).thenReturn(Optional.of(CachedUser.from(user)));
         when(bCryptPasswordEncoder.matches(rawPassword, "hashed-password")).thenReturn(true);
 
         TokenObject accessToken = new TokenObject("access-token", 1);
         TokenObject refreshToken = new TokenObject("refresh-token", 3);
         UUID sessionId = UUID.randomUUID();
 
-        when(tokenService.generateToken(user, ACCESS, sessionId)).thenReturn(accessToken);
-        when(tokenService.generateToken(user, REFRESH, sessionId)).thenReturn(refreshToken);
+        when(usersService.getReference(user.getId())).thenReturn(user);
+        when(tokenService.generateTokenPair(user, sessionId)).thenReturn(new TokenPair(accessToken, refreshToken));
 
         loginService.authenticationWithEmail(email, rawPassword, sessionId, responseBuilder);
 
@@ -103,6 +125,55 @@ class LoginServiceTest {
         assertEquals("refresh-token", response.getRefreshToken());
     }
 
+    @Test
+    void authenticationWithEmail_outdatedHash_rehashesAfterSuccessfulLogin() {
+        ReflectionTestUtils.setField(loginService, "isRequireVerification", false);
+        ReflectionTestUtils.setField(loginService, "rehashOnLogin", true);
+        UUID sessionId = UUID.randomUUID();
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setPassword("{bcrypt}old-hash");
+
+        when(usersService.findByIdentifier("user")).thenReturn(Optional.of(CachedUser.from(user)));
+        when(bCryptPasswordEncoder.matches("password", "{bcrypt}old-hash")).thenReturn(true);
+        when(bCryptPasswordEncoder.upgradeEncoding("{bcrypt}old-hash")).thenReturn(true);
+        when(bCryptPasswordEncoder.encode("password")).thenReturn("{argon2}new-hash");
+        when(usersService.getReference(user.getId())).thenReturn(user);
+        when(tokenService.generateTokenPair(user, sessionId))
+                .thenReturn(new TokenPair(new TokenObject("access-token", 1), new TokenObject("refresh-token", 3)));
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        loginService.authenticationWithEmail("user", "password", sessionId, responseBuilder);
+
+        assertEquals(200, responseBuilder.getStatusCode());
+        verify(usersService).updatePasswordHash(argThat(cached -> cached.getId().equals(user.getId())), eq("{argon2}new-hash"));
+    }
+
+    @Test
+    void authenticationWithEmail_rehashFailure_stillIssuesTokens() {
+        ReflectionTestUtils.setField(loginService, "isRequireVerification", false);
+        ReflectionTestUtils.setField(loginService, "rehashOnLogin", true);
+        UUID sessionId = UUID.randomUUID();
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setPassword("$2a$08$legacy");
+
+        when(usersService.findByIdentifier("user")).thenReturn(Optional.of(CachedUser.from(user)));
+        when(bCryptPasswordEncoder.matches("password", "$2a$08$legacy")).thenReturn(true);
+        when(bCryptPasswordEncoder.upgradeEncoding("$2a$08$legacy")).thenReturn(true);
+        when(bCryptPasswordEncoder.encode("password")).thenReturn("{bcrypt}new-hash");
+        when(usersService.updatePasswordHash(any(), eq("{bcrypt}new-hash"))).thenThrow(new IllegalStateException("connection refused"));
+        when(usersService.getReference(user.getId())).thenReturn(user);
+        when(tokenService.generateTokenPair(user, sessionId))
+                .thenReturn(new TokenPair(new TokenObject("access-token", 1), new TokenObject("refresh-token", 3)));
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        loginService.authenticationWithEmail("user", "password", sessionId, responseBuilder);
+
+        assertEquals(200, responseBuilder.getStatusCode());
+        assertEquals("access-token", responseBuilder.getAccessToken());
+    }
+
     @Test
     void authenticationWithEmail_verificationDisabled_userNotFound_setsUnauthorizedError() {
         ReflectionTestUtils.setField(loginService, "isRequireVerification", false);
@@ -110,7 +181,7 @@ class LoginServiceTest {
         UUID sessionId = UUID.randomUUID();
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
 
-        when(usersService.findByLoginOrEmail(email, email)).thenReturn(Optional.empty());
+        when(usersService.findByIdentifier(email)).thenReturn(Optional.empty());
 
         loginService.authenticationWithEmail(email, "password", sessionId, responseBuilder);
 
@@ -130,17 +201,17 @@ class LoginServiceTest {
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
 
         Users user = new Users();
+        user.setId(UUID.randomUUID());
         user.setIsVerified(false);
         user.setPassword("hashed-password");
 
-        when(usersService.findByLoginOrEmail(email, email)).thenReturn(Optional.of(user));
+        when(usersService.findByIdentifier(email)).thenReturn(Optional.of(CachedUser.from(user)));
         when(bCryptPasswordEncoder.matches(rawPassword, "hashed-password")).thenReturn(true);
 
         TokenObject accessToken = new TokenObject("access-token", 1);
-        when(tokenService.generateToken(user, ACCESS, sessionId)).thenReturn(accessToken);
-
         TokenObject refreshToken = new TokenObject("refresh-token", 3);
-        when(tokenService.generateToken(user, REFRESH, sessionId)).thenReturn(refreshToken);
+        when(usersService.getReference(user.getId())).thenReturn(user);
+        when(tokenService.generateTokenPair(user, sessionId)).thenReturn(new TokenPair(accessToken, refreshToken));
 
         loginService.authenticationWithEmail(email, rawPassword, sessionId, responseBuilder);
 
@@ -0,0 +1,156 @@
+package com.secureuser.service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureuser.service.model.OutboxEvents;
+import com.secureuser.service.repository.OutboxEventsRepository;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.condition.EmbeddedKafkaCondition;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@EmbeddedKafka(partitions = 1, topics = OutboxRelayTest.TOPIC)
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    static final String TOPIC = "auth-events-test";
+
+    @Mock
+    private OutboxEventsRepository outboxEventsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private KafkaTemplate<String, String> unavailableKafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DefaultKafkaProducerFactory<String, String> producerFactory;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Map<String, Object> producerProps = KafkaTestUtils.producerProps(EmbeddedKafkaCondition.getBroker());
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        producerFactory = new DefaultKafkaProducerFactory<>(producerProps, new StringSerializer(), new StringSerializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    void relay_publishesBatchKeyedByUserAndDeletesIt() throws Exception {
+        OutboxEvents registered = event(1L, "USER_REGISTERED", "{\"login\":\"alice\"}");
+        OutboxEvents verified = event(2L, "USER_VERIFIED", "{\"login\":\"alice\"}");
+        when(outboxEventsRepository.tryLockRelay(anyLong())).thenReturn(true);
+        when(outboxEventsRepository.lockNextBatch(10)).thenReturn(List.of(registered, verified));
+
+        relay(new KafkaTemplate<>(producerFactory)).relay();
+
+        verify(outboxEventsRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        try (Consumer<String, String> consumer = consumer()) {
+            ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer);
+            assertEquals(2, records.count());
+            ConsumerRecord<String, String> first = records.iterator().next();
+            assertEquals(registered.getAggregateId().toString(), first.key());
+            assertEquals("USER_REGISTERED", new String(first.headers().lastHeader("event_type").value(), StandardCharsets.UTF_8));
+            JsonNode message = objectMapper.readTree(first.value());
+            assertEquals(registered.getEventId().toString(), message.get("eventId").asText());
+            assertEquals("alice", message.get("payload").get("login").asText());
+        }
+    }
+
+    @Test
+    void relay_brokerUnavailable_keepsEventsQueued() {
+        when(outboxEventsRepository.tryLockRelay(anyLong())).thenReturn(true);
+        when(outboxEventsRepository.lockNextBatch(10)).thenReturn(List.of(event(3L, "TOKENS_ISSUED", "{}")));
+        when(unavailableKafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+
+        relay(unavailableKafkaTemplate).relay();
+
+        verify(outboxEventsRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void relay_lockHeldByAnotherInstance_publishesNothing() {
+        when(outboxEventsRepository.tryLockRelay(anyLong())).thenReturn(false);
+
+        relay(unavailableKafkaTemplate).relay();
+
+        verify(outboxEventsRepository, never()).lockNextBatch(anyInt());
+        verifyNoInteractions(unavailableKafkaTemplate);
+    }
+
+    private OutboxRelay relay(KafkaTemplate<String, String> kafkaTemplate) {
+        OutboxRelay relay = new OutboxRelay(outboxEventsRepository, kafkaTemplate, objectMapper, transactionManager);
+        ReflectionTestUtils.setField(relay, "topic", TOPIC);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(relay, "sendTimeout", 10000L);
+        return relay;
+    }
+
+    private Consumer<String, String> consumer() {
+        EmbeddedKafkaBroker broker = EmbeddedKafkaCondition.getBroker();
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-relay-test", "false", broker);
+        Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                consumerProps, new StringDeserializer(), new StringDeserializer()).createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+        return consumer;
+    }
+
+    private OutboxEvents event(long id, String type, String payload) {
+        OutboxEvents event = new OutboxEvents();
+        event.setId(id);
+        event.setEventId(UUID.randomUUID());
+        event.setEventType(type);
+        event.setAggregateId(UUID.randomUUID());
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
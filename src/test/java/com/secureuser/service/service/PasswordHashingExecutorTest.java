@@ -0,0 +1,76 @@
+package com.secureuser.service.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        passwordHashingExecutor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(passwordHashingExecutor, "poolSize", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "shutdownTimeout", 1000L);
+        passwordHashingExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Test
+    void compute_saturatedExecutor_rejectsImmediately() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Thread.ofPlatform().daemon().start(() -> passwordHashingExecutor.compute(() -> {
+            started.countDown();
+            return awaitRelease();
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        Thread.ofPlatform().daemon().start(() -> passwordHashingExecutor.compute(this::awaitRelease));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (passwordHashingExecutor.getQueueDepth() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> passwordHashingExecutor.compute(() -> "hashed"));
+    }
+
+    @Test
+    void compute_returnsResultToCaller() {
+        assertEquals("hashed", passwordHashingExecutor.compute(() -> "hashed"));
+    }
+
+    @Test
+    void compute_rethrowsTaskFailure() {
+        IllegalArgumentException failure = new IllegalArgumentException("bad hash");
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> passwordHashingExecutor.compute(() -> {
+            throw failure;
+        })));
+    }
+
+    private boolean awaitRelease() {
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.TokenObject;
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.model.Platforms;
+import com.secureuser.service.model.Users;
+import com.secureuser.service.proto.user.auth.AuthResponse;
+import com.secureuser.service.repository.UserPlatformsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformLoginServiceTest {
+
+    private static final String PLATFORM_KEY = "telegram-bot-key";
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private UserPlatformsRepository userPlatformsRepository;
+
+    @Mock
+    private UsersService usersService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private PlatformLoginService platformLoginService;
+
+    private Platforms telegram;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(platformLoginService, "isRequireVerification", true);
+        ReflectionTestUtils.setField(platformLoginService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(platformLoginService, "cacheTtl", 60L);
+        platformLoginService.init();
+
+        telegram = new Platforms();
+        telegram.setId(UUID.randomUUID());
+        telegram.setName("telegram");
+        telegram.setApiKeyHash(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(PLATFORM_KEY.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void authenticate_linkedAccount_issuesTokensAndCachesLookup() {
+        UUID sessionId = UUID.randomUUID();
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setIsVerified(true);
+        when(roleService.findPlatform("telegram")).thenReturn(Optional.of(telegram));
+        when(userPlatformsRepository.findUserId(telegram.getId(), "42")).thenReturn(Optional.of(user.getId()));
+        when(usersService.findById(user.getId())).thenReturn(Optional.of(user));
+        when(tokenService.generateTokenPair(any(), any()))
+                .thenReturn(new TokenPair(new TokenObject("access-token", 1), new TokenObject("refresh-token", 3)));
+
+        AuthResponse.Builder first = AuthResponse.newBuilder();
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", sessionId, first);
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", UUID.randomUUID(), AuthResponse.newBuilder());
+
+        assertEquals(200, first.getStatusCode());
+        assertEquals("access-token", first.getAccessToken());
+        assertEquals(sessionId.toString(), first.getSessionId());
+        verify(userPlatformsRepository, times(1)).findUserId(telegram.getId(), "42");
+    }
+
+    @Test
+    void authenticate_wrongPlatformKey_rejectsWithoutLookup() {
+        when(roleService.findPlatform("telegram")).thenReturn(Optional.of(telegram));
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        platformLoginService.authenticate("telegram", "forged-key", "42", UUID.randomUUID(), responseBuilder);
+
+        assertEquals(401, responseBuilder.getStatusCode());
+        assertEquals("INVALID_PLATFORM_CREDENTIALS", responseBuilder.getMessageCode());
+        verifyNoInteractions(userPlatformsRepository, tokenService);
+    }
+
+    @Test
+    void authenticate_platformWithoutKey_isNotTrusted() {
+        telegram.setApiKeyHash(null);
+        when(roleService.findPlatform("telegram")).thenReturn(Optional.of(telegram));
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", UUID.randomUUID(), responseBuilder);
+
+        assertEquals(401, responseBuilder.getStatusCode());
+        verifyNoInteractions(userPlatformsRepository);
+    }
+
+    @Test
+    void authenticate_unlinkedAccount_returnsNotFoundWithoutCachingMiss() {
+        when(roleService.findPlatform("telegram")).thenReturn(Optional.of(telegram));
+        when(userPlatformsRepository.findUserId(telegram.getId(), "42")).thenReturn(Optional.empty());
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", UUID.randomUUID(), responseBuilder);
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", UUID.randomUUID(), AuthResponse.newBuilder());
+
+        assertEquals(404, responseBuilder.getStatusCode());
+        assertEquals("USER_NOT_FOUND", responseBuilder.getMessageCode());
+        verify(userPlatformsRepository, times(2)).findUserId(telegram.getId(), "42");
+        verify(tokenService, never()).generateTokenPair(any(), any());
+    }
+
+    @Test
+    void authenticate_unverifiedUser_rejectedWithoutTokens() {
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+        user.setIsVerified(false);
+        when(roleService.findPlatform("telegram")).thenReturn(Optional.of(telegram));
+        when(userPlatformsRepository.findUserId(telegram.getId(), "42")).thenReturn(Optional.of(user.getId()));
+        when(usersService.findById(user.getId())).thenReturn(Optional.of(user));
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        platformLoginService.authenticate("telegram", PLATFORM_KEY, "42", UUID.randomUUID(), responseBuilder);
+
+        assertEquals(403, responseBuilder.getStatusCode());
+        assertEquals("ACCOUNT_NOT_VERIFIED", responseBuilder.getMessageCode());
+        verifyNoInteractions(tokenService);
+    }
+}
@@ -1,21 +1,27 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.dto.RedisEntry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -75,9 +81,73 @@ class RedisServiceTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    void testGetAndDelete_ConsumesKeyInOneCall() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.getAndDelete("key1")).thenReturn("value1");
+
+        Optional<String> result = redisService.getAndDelete("key1");
+
+        assertEquals("value1", result.orElseThrow());
+        verify(valueOperations, never()).get(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
     @Test
     void testDelete() {
         redisService.delete("key1");
         verify(redisTemplate).delete("key1");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSaveAllIfAbsent_PipelinesAllEntries() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, true));
+
+        boolean result = redisService.saveAllIfAbsent(List.of(
+                new RedisEntry("key1", "value1", Duration.ofSeconds(10)),
+                new RedisEntry("key2", "value2", Duration.ofSeconds(20))
+        ));
+
+        assertTrue(result);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testSaveAllIfAbsent_PartialFailure() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false));
+
+        boolean result = redisService.saveAllIfAbsent(List.of(
+                new RedisEntry("key1", "value1", Duration.ofSeconds(10)),
+                new RedisEntry("key2", "value2", Duration.ofSeconds(20))
+        ));
+
+        assertFalse(result);
+    }
+
+    @Test
+    void testSaveAllIfAbsent_Empty() {
+        assertTrue(redisService.saveAllIfAbsent(List.of()));
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void testExistsAll() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false));
+
+        List<Boolean> result = redisService.existsAll(List.of("key1", "key2"));
+
+        assertEquals(List.of(true, false), result);
+    }
+
+    @Test
+    void testDeleteAll() {
+        redisService.deleteAll(List.of("key1", "key2"));
+        verify(redisTemplate).delete(List.of("key1", "key2"));
+    }
+
+    @Test
+    void testDeleteAll_Empty() {
+        redisService.deleteAll(List.of());
+        verify(redisTemplate, never()).delete(anyCollection());
+    }
+}
@@ -1,7 +1,6 @@
 package com.secureuser.service.service;
 
 import com.secureuser.service.exception.DatabaseOperationException;
-import com.secureuser.service.model.Users;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +18,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -70,35 +71,35 @@ class RegistrationConfirmationServiceTest {
         String uuid = "uuid-token";
         String login = "testLogin";
 
-        when(redisService.get(uuid)).thenReturn(Optional.of(login));
-        Users user = new Users();
-        user.setLogin(login);
-        when(usersService.findByLogin(login)).thenReturn(Optional.of(user));
+        when(redisService.getAndDelete(uuid)).thenReturn(Optional.of(login));
+        when(usersService.markVerified(login)).thenReturn(true);
 
         ResponseEntity<String> response = confirmationService.validateAndConfirmRegistration(uuid);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Account registration confirmed", response.getBody());
-        verify(usersService).update(user);
-        verify(redisService).delete(uuid);
+        verify(redisService, never()).get(anyString());
+        verify(redisService, never()).delete(anyString());
+        verify(usersService, never()).update(any());
     }
 
     @Test
-    void testValidateAndConfirmRegistration_TokenNotFound() {
-        when(redisService.get(anyString())).thenReturn(Optional.empty());
+    void testValidateAndConfirmRegistration_TokenNotFound() throws DatabaseOperationException {
+        when(redisService.getAndDelete(anyString())).thenReturn(Optional.empty());
 
         ResponseEntity<String> response = confirmationService.validateAndConfirmRegistration("uuid-token");
 
         assertEquals(HttpStatus.GONE, response.getStatusCode());
         assertEquals("Link is inactive or out of date", response.getBody());
+        verify(usersService, never()).markVerified(anyString());
     }
 
     @Test
-    void testValidateAndConfirmRegistration_UserNotFound() {
+    void testValidateAndConfirmRegistration_UserNotFound() throws DatabaseOperationException {
         String uuid = "uuid-token";
 
-        when(redisService.get(uuid)).thenReturn(Optional.of("nonExistentLogin"));
-        when(usersService.findByLogin("nonExistentLogin")).thenReturn(Optional.empty());
+        when(redisService.getAndDelete(uuid)).thenReturn(Optional.of("nonExistentLogin"));
+        when(usersService.markVerified("nonExistentLogin")).thenReturn(false);
 
         ResponseEntity<String> response = confirmationService.validateAndConfirmRegistration(uuid);
 
@@ -107,19 +108,17 @@ class RegistrationConfirmationServiceTest {
     }
 
     @Test
-    void testValidateAndConfirmRegistration_DatabaseError() throws DatabaseOperationException {
+    void testValidateAndConfirmRegistration_DatabaseError_RestoresToken() throws DatabaseOperationException {
         String uuid = "uuid-token";
         String login = "testLogin";
 
-        when(redisService.get(uuid)).thenReturn(Optional.of(login));
-        Users user = new Users();
-        user.setLogin(login);
-        when(usersService.findByLogin(login)).thenReturn(Optional.of(user));
-        doThrow(new DatabaseOperationException("Database error")).when(usersService).update(user);
+        when(redisService.getAndDelete(uuid)).thenReturn(Optional.of(login));
+        doThrow(new DatabaseOperationException("Database error")).when(usersService).markVerified(login);
 
         ResponseEntity<String> response = confirmationService.validateAndConfirmRegistration(uuid);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Internal error during verification", response.getBody());
+        verify(redisService).save(uuid, login, 60L);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,168 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.VerifiedToken;
+import com.secureuser.service.model.RevocationEpochs;
+import com.secureuser.service.repository.RevocationEpochsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationEpochServiceTest {
+
+    @Mock
+    private RevocationEpochsRepository revocationEpochsRepository;
+
+    @Mock
+    private RedisService redisService;
+
+    @InjectMocks
+    private RevocationEpochService revocationEpochService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationEpochService, "expirationRefresh", 7200L);
+    }
+
+    @Test
+    void revokeSession_writesOneRowAndOneRedisKey() {
+        UUID sessionId = UUID.randomUUID();
+
+        revocationEpochService.revokeSession(sessionId);
+
+        verify(revocationEpochsRepository).upsert(eq("SESSION"), eq(sessionId), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(redisService).put(eq("jwt:epoch:session:" + sessionId), anyString(), eq(Duration.ofSeconds(7200)));
+    }
+
+    @Test
+    void revokeUser_writesUserEpoch() {
+        UUID userId = UUID.randomUUID();
+
+        revocationEpochService.revokeUser(userId);
+
+        verify(revocationEpochsRepository).upsert(eq("USER"), eq(userId), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(redisService).put(eq("jwt:epoch:user:" + userId), anyString(), eq(Duration.ofSeconds(7200)));
+    }
+
+    @Test
+    void areRevoked_comparesIssuedAtWithSessionAndUserEpochs() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        VerifiedToken beforeSessionEpoch = token("s1", "u1", now.minusSeconds(60));
+        VerifiedToken sameSecondAsUserEpoch = token("s2", "u2", now);
+        VerifiedToken afterEpochs = token("s3", "u3", now.plusSeconds(1));
+        String epoch = String.valueOf(now.getEpochSecond());
+        when(redisService.getAll(List.of(
+                "jwt:epoch:session:s1", "jwt:epoch:user:u1",
+                "jwt:epoch:session:s2", "jwt:epoch:user:u2",
+                "jwt:epoch:session:s3", "jwt:epoch:user:u3"
+        ))).thenReturn(Arrays.asList(epoch, null, null, epoch, epoch, epoch));
+
+        List<Boolean> revoked = revocationEpochService.areRevoked(List.of(beforeSessionEpoch, sameSecondAsUserEpoch, afterEpochs));
+
+        assertEquals(List.of(true, true, false), revoked);
+    }
+
+    @Test
+    void isRevokedInDatabase_tokenIssuedAfterEpoch_returnsFalse() {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        LocalDateTime epoch = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        when(revocationEpochsRepository.findLatestRevokedBefore(userId, sessionId)).thenReturn(Optional.of(epoch));
+
+        assertFalse(revocationEpochService.isRevokedInDatabase(userId, sessionId, epoch.plusSeconds(1)));
+        assertTrue(revocationEpochService.isRevokedInDatabase(userId, sessionId, epoch.plusNanos(500_000_000)));
+    }
+
+    @Test
+    void revokeUser_insideTransaction_writesRedisOnlyAfterCommit() {
+        UUID userId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationEpochService.revokeUser(userId);
+
+            verify(redisService, never()).put(anyString(), anyString(), any(Duration.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisService).put(eq("jwt:epoch:user:" + userId), anyString(), eq(Duration.ofSeconds(7200)));
+    }
+
+    @Test
+    void revokeSession_redisUnavailable_keepsDatabaseRevocation() {
+        UUID sessionId = UUID.randomUUID();
+        doThrow(new RedisConnectionFailureException("connection refused"))
+                .when(redisService).put(anyString(), anyString(), any(Duration.class));
+
+        revocationEpochService.revokeSession(sessionId);
+
+        verify(revocationEpochsRepository).upsert(eq("SESSION"), eq(sessionId), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void restoreEpochsInRedis_copiesActiveRowsWithRemainingTtl() {
+        RevocationEpochs row = epoch("USER");
+        when(revocationEpochsRepository.findAllByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(row));
+
+        revocationEpochService.restoreEpochsInRedis();
+
+        verify(redisService).execute(any(), eq(List.of("jwt:epoch:user:" + row.getSubjectId())),
+                argThat(args -> args.size() == 3 && Long.parseLong(args.get(2)) > 0));
+    }
+
+    @Test
+    void resyncEpochsInRedis_overwritesKeysOlderThanSnapshotInChunks() {
+        List<RevocationEpochs> rows = IntStream.range(0, 501).mapToObj(i -> epoch("SESSION")).toList();
+        when(revocationEpochsRepository.findAllByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(rows);
+
+        revocationEpochService.resyncEpochsInRedis();
+
+        verify(redisService).execute(any(), argThat(keys -> keys.size() == 500), argThat(args -> args.size() == 1001));
+        verify(redisService).execute(any(), argThat(keys -> keys.size() == 1), argThat(args -> args.size() == 3
+                && Long.parseLong(args.get(0)) <= Instant.now().getEpochSecond()));
+        verify(redisService, never()).put(anyString(), anyString(), any(Duration.class));
+    }
+
+    private RevocationEpochs epoch(String scope) {
+        RevocationEpochs row = new RevocationEpochs();
+        row.setScope(scope);
+        row.setSubjectId(UUID.randomUUID());
+        row.setRevokedBefore(LocalDateTime.now().minusMinutes(5));
+        row.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return row;
+    }
+
+    private VerifiedToken token(String sessionId, String userId, Instant issuedAt) {
+        return new VerifiedToken("token", UUID.randomUUID().toString(), userId, sessionId, issuedAt, issuedAt.plusSeconds(3600), List.of(), List.of());
+    }
+}
@@ -0,0 +1,125 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.dto.UserAuthorities;
+import com.secureuser.service.model.Platforms;
+import com.secureuser.service.model.Roles;
+import com.secureuser.service.repository.PlatformsRepository;
+import com.secureuser.service.repository.RolesRepository;
+import com.secureuser.service.repository.UserPlatformsRepository;
+import com.secureuser.service.repository.UserRolesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleServiceTest {
+
+    private static final UUID ADMIN_ID = UUID.randomUUID();
+    private static final UUID MODERATOR_ID = UUID.randomUUID();
+    private static final UUID TELEGRAM_ID = UUID.randomUUID();
+
+    @Mock
+    private RolesRepository rolesRepository;
+
+    @Mock
+    private PlatformsRepository platformsRepository;
+
+    @Mock
+    private UserRolesRepository userRolesRepository;
+
+    @Mock
+    private UserPlatformsRepository userPlatformsRepository;
+
+    @InjectMocks
+    private RoleService roleService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roleService, "defaultRole", "USER");
+    }
+
+    @Test
+    void getAuthorities_resolvesRoleNamesFromCatalogueOnEveryIssuance() {
+        UUID userId = UUID.randomUUID();
+        loadCatalogue();
+        when(userRolesRepository.findRoleIdsByUserId(userId)).thenReturn(List.of(MODERATOR_ID, ADMIN_ID));
+        when(userPlatformsRepository.findPlatformIdsByUserId(userId)).thenReturn(List.of(TELEGRAM_ID));
+
+        UserAuthorities first = roleService.getAuthorities(userId);
+        UserAuthorities second = roleService.getAuthorities(userId);
+
+        assertEquals(List.of("ADMIN", "MODERATOR"), first.getRoles());
+        assertEquals(List.of(TELEGRAM_ID), first.getPlatformIds());
+        assertEquals(first, second);
+        verify(userRolesRepository, times(2)).findRoleIdsByUserId(userId);
+        verify(rolesRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAuthorities_withoutAssignedRoles_returnsDefaultRole() {
+        UUID userId = UUID.randomUUID();
+        when(userRolesRepository.findRoleIdsByUserId(userId)).thenReturn(List.of());
+        when(userPlatformsRepository.findPlatformIdsByUserId(userId)).thenReturn(List.of());
+
+        assertEquals(List.of("USER"), roleService.getAuthorities(userId).getRoles());
+        verify(rolesRepository, never()).findAll();
+    }
+
+    @Test
+    void getAuthorities_roleMissingFromCatalogue_refreshesCatalogue() {
+        UUID userId = UUID.randomUUID();
+        when(userRolesRepository.findRoleIdsByUserId(userId)).thenReturn(List.of(ADMIN_ID));
+        when(rolesRepository.findAll()).thenReturn(List.of(role(ADMIN_ID, "ADMIN")));
+
+        assertEquals(List.of("ADMIN"), roleService.getAuthorities(userId).getRoles());
+    }
+
+    @Test
+    void getAuthorities_roleGrantedInDatabase_visibleToNextIssuance() {
+        UUID userId = UUID.randomUUID();
+        loadCatalogue();
+        when(userRolesRepository.findRoleIdsByUserId(userId)).thenReturn(List.of()).thenReturn(List.of(ADMIN_ID));
+
+        assertEquals(List.of("USER"), roleService.getAuthorities(userId).getRoles());
+        assertEquals(List.of("ADMIN"), roleService.getAuthorities(userId).getRoles());
+    }
+
+    @Test
+    void findPlatform_readsCatalogueWithoutDatabaseLookup() {
+        loadCatalogue();
+
+        assertEquals(Optional.of(TELEGRAM_ID), roleService.findPlatform("telegram").map(Platforms::getId));
+        assertEquals(Optional.empty(), roleService.findPlatform("discord"));
+        verify(platformsRepository, times(1)).findAll();
+    }
+
+    private void loadCatalogue() {
+        when(rolesRepository.findAll()).thenReturn(List.of(role(ADMIN_ID, "ADMIN"), role(MODERATOR_ID, "MODERATOR")));
+        Platforms telegram = new Platforms();
+        telegram.setId(TELEGRAM_ID);
+        telegram.setName("telegram");
+        when(platformsRepository.findAll()).thenReturn(List.of(telegram));
+        roleService.refreshCatalogue();
+    }
+
+    private Roles role(UUID id, String name) {
+        Roles role = new Roles();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,114 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.repository.RevocationEpochsRepository;
+import com.secureuser.service.repository.TokensRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenReaperServiceTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Mock
+    private TokensRepository tokensRepository;
+
+    @Mock
+    private RevocationEpochsRepository revocationEpochsRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @InjectMocks
+    private TokenReaperService tokenReaperService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenReaperService, "batchSize", 100);
+        ReflectionTestUtils.setField(tokenReaperService, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(tokenReaperService, "batchPause", 0L);
+        ReflectionTestUtils.setField(tokenReaperService, "retentionLag", 60L);
+        ReflectionTestUtils.setField(tokenReaperService, "monthsAhead", 1);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(retryingTransactionExecutor).run(any());
+    }
+
+    @Test
+    void reapExpiredTokens_stopsAfterPartialBatch() {
+        when(tokensRepository.deleteExpiredOrRevoked(any(LocalDateTime.class), eq(100)))
+                .thenReturn(100)
+                .thenReturn(40);
+
+        tokenReaperService.reapExpiredTokens();
+
+        verify(tokensRepository, times(2)).deleteExpiredOrRevoked(any(LocalDateTime.class), eq(100));
+        verify(revocationEpochsRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    @Test
+    void reapExpiredTokens_respectsMaxBatchesPerRun() {
+        when(tokensRepository.deleteExpiredOrRevoked(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        tokenReaperService.reapExpiredTokens();
+
+        verify(tokensRepository, times(5)).deleteExpiredOrRevoked(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void maintainPartitions_createsMissingUpcomingAndDropsExpiredPartitions() {
+        String expired = "tokens_p" + YearMonth.now().minusMonths(3).format(SUFFIX);
+        String current = "tokens_p" + YearMonth.now().format(SUFFIX);
+        String next = "tokens_p" + YearMonth.now().plusMonths(1).format(SUFFIX);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(expired, current));
+
+        tokenReaperService.maintainPartitions();
+
+        verify(jdbcTemplate, times(1)).execute(startsWith("CREATE TABLE tokens_p"));
+        verify(jdbcTemplate).execute("CREATE TABLE " + next + " (LIKE tokens INCLUDING DEFAULTS)");
+        verify(jdbcTemplate).update(contains("INSERT INTO " + next + " SELECT * FROM moved"));
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE tokens ATTACH PARTITION " + next));
+        verify(jdbcTemplate).execute("DROP TABLE IF EXISTS " + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS " + current);
+    }
+
+    @Test
+    void maintainPartitions_failedMonthDoesNotStopLaterMonths() {
+        String current = "tokens_p" + YearMonth.now().format(SUFFIX);
+        String next = "tokens_p" + YearMonth.now().plusMonths(1).format(SUFFIX);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+        lenient().doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+                .when(jdbcTemplate).execute(startsWith("ALTER TABLE tokens ATTACH PARTITION " + current));
+
+        tokenReaperService.maintainPartitions();
+
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE tokens ATTACH PARTITION " + next));
+    }
+}
@@ -1,12 +1,20 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.constants.AuthEventType;
 import com.secureuser.service.constants.JWTokenType;
-import com.secureuser.service.dto.TokenObject;
+import com.secureuser.service.dto.IssuedToken;
+import com.secureuser.service.dto.TokenPair;
+import com.secureuser.service.dto.UserAuthorities;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.model.Tokens;
 import com.secureuser.service.model.Users;
 import com.secureuser.service.proto.user.auth.AuthResponse;
 import com.secureuser.service.repository.TokensRepository;
 import com.secureuser.service.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +22,9 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,61 +39,122 @@ class TokenServiceTest {
     private JwtUtils jwtUtils;
 
     @Mock
-    private RedisService redisService;
+    private TokensRepository tokensRepository;
 
     @Mock
-    private TokensRepository tokensRepository;
+    private RevocationEpochService revocationEpochService;
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private TokenWriteBehindQueue tokenWriteBehindQueue;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
 
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(tokenService, "projectName", "secure-user-service");
         ReflectionTestUtils.setField(tokenService, "expirationAccess", 3600L);
         ReflectionTestUtils.setField(tokenService, "expirationRefresh", 7200L);
+        lenient().when(roleService.getAuthorities(any())).thenReturn(new UserAuthorities(List.of("USER"), List.of()));
     }
 
     @Test
-    void generateToken_accessToken_shouldReturnTokenObjectAndSaveToRedisAndDb() {
+    void generateTokenPair_shouldSaveBothTokensInOneBatchWithoutTouchingRedis() {
         Users user = new Users();
         user.setId(UUID.randomUUID());
         user.setLogin("test-user");
-        user.setTokens(new ArrayList<>());
 
-        when(jwtUtils.generateToken(any())).thenReturn("generated-jwt-token");
-        when(tokensRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jwtUtils.generateToken(any())).thenReturn("access-jwt-token").thenReturn("refresh-jwt-token");
+        runTransactionsInline();
         UUID sessionId = UUID.randomUUID();
 
-        TokenObject tokenObject = tokenService.generateToken(user, JWTokenType.ACCESS,sessionId);
+        TokenPair tokenPair = tokenService.generateTokenPair(user, sessionId);
 
-        assertNotNull(tokenObject);
-        assertEquals("generated-jwt-token", tokenObject.getToken());
-        assertEquals(3600L, tokenObject.getLifeTime());
+        assertEquals("access-jwt-token", tokenPair.getAccessToken().getToken());
+        assertEquals(3600L, tokenPair.getAccessToken().getLifeTime());
+        assertEquals("refresh-jwt-token", tokenPair.getRefreshToken().getToken());
+        assertEquals(7200L, tokenPair.getRefreshToken().getLifeTime());
 
-        verify(redisService).save(startsWith("jwt:ACCESS:"), eq("generated-jwt-token"), eq(3600L));
-        verify(tokensRepository).save(any(Tokens.class));
+        ArgumentCaptor<List<Tokens>> tokensCaptor = ArgumentCaptor.forClass(List.class);
+        verify(tokensRepository).saveAll(tokensCaptor.capture());
+        List<Tokens> savedTokens = tokensCaptor.getValue();
+        assertEquals(List.of("ACCESS", "REFRESH"), savedTokens.stream().map(Tokens::getTokenType).toList());
+        savedTokens.forEach(token -> assertEquals(sessionId, token.getSessionId()));
+        verify(outboxService).record(argThat(event -> event.getType() == AuthEventType.TOKENS_ISSUED));
 
-        assertEquals(1, user.getTokens().size());
-        assertEquals("ACCESS", user.getTokens().getFirst().getTokenType());
+        verifyNoInteractions(revocationEpochService);
     }
 
     @Test
-    void generateToken_refreshToken_shouldUseRefreshExpiration() {
+    void generateTokenPair_shouldEmbedRolesAndPlatformsInAccessTokenOnly() {
         Users user = new Users();
         user.setId(UUID.randomUUID());
-        user.setLogin("refresh-user");
-        user.setTokens(new ArrayList<>());
+        UUID platformId = UUID.randomUUID();
+
+        when(roleService.getAuthorities(user.getId())).thenReturn(new UserAuthorities(List.of("ADMIN", "USER"), List.of(platformId)));
+        when(jwtUtils.generateToken(any())).thenReturn("access-jwt-token").thenReturn("refresh-jwt-token");
+        runTransactionsInline();
+
+        tokenService.generateTokenPair(user, UUID.randomUUID());
+
+        ArgumentCaptor<JwtBuilder> builderCaptor = ArgumentCaptor.forClass(JwtBuilder.class);
+        verify(jwtUtils, times(2)).generateToken(builderCaptor.capture());
+        String accessPayload = payload(builderCaptor.getAllValues().get(0));
+        String refreshPayload = payload(builderCaptor.getAllValues().get(1));
+        assertTrue(accessPayload.contains("\"roles\":[\"ADMIN\",\"USER\"]"));
+        assertTrue(accessPayload.contains("\"platform_ids\":[\"" + platformId + "\"]"));
+        assertFalse(refreshPayload.contains("roles"));
+        verify(roleService, times(1)).getAuthorities(user.getId());
+    }
 
-        when(jwtUtils.generateToken(any())).thenReturn("refresh-token");
-        when(tokensRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void generateTokenPair_writeBehindEnabled_shouldQueueTokensInsteadOfSaving() {
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
 
-        UUID sessionId = UUID.randomUUID();
+        when(tokenWriteBehindQueue.isEnabled()).thenReturn(true);
+        when(jwtUtils.generateToken(any())).thenReturn("access-jwt-token").thenReturn("refresh-jwt-token");
 
-        TokenObject tokenObject = tokenService.generateToken(user, JWTokenType.REFRESH, sessionId);
+        tokenService.generateTokenPair(user, UUID.randomUUID());
+
+        ArgumentCaptor<List<Tokens>> tokensCaptor = ArgumentCaptor.forClass(List.class);
+        verify(tokenWriteBehindQueue).submit(tokensCaptor.capture());
+        assertEquals(List.of("ACCESS", "REFRESH"), tokensCaptor.getValue().stream().map(Tokens::getTokenType).toList());
+        verify(tokensRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void refreshToken_pendingWriteBehindToken_shouldClaimItWithRevokedInsert() {
+        UUID sessionId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        String oldRefreshToken = "pending.refresh.token";
+        IssuedToken pending = new IssuedToken(jti, userId, sessionId, "REFRESH", oldRefreshToken,
+                LocalDateTime.now().minusSeconds(1), LocalDateTime.now().plusHours(1));
+
+        when(jwtUtils.getClaims(oldRefreshToken)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.empty());
+        when(tokenWriteBehindQueue.findPending(jti)).thenReturn(Optional.of(pending));
+        when(tokensRepository.insertRevokedIfAbsent(userId, oldRefreshToken, jti, pending.getCreatedAt(),
+                pending.getExpiresAt(), "REFRESH", sessionId)).thenReturn(1);
+        when(jwtUtils.generateToken(any())).thenReturn("newAccessToken").thenReturn("newRefreshToken");
+        runTransactionsInline();
 
-        assertNotNull(tokenObject);
-        assertEquals("refresh-token", tokenObject.getToken());
-        assertEquals(7200L, tokenObject.getLifeTime());
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        tokenService.refreshToken(oldRefreshToken, responseBuilder);
 
-        verify(redisService).save(startsWith("jwt:REFRESH:"), eq("refresh-token"), eq(7200L));
+        assertEquals(200, responseBuilder.build().getStatusCode());
+        verify(tokensRepository, never()).revokeByJti(any());
+        verify(revocationEpochService).revokeSession(sessionId);
     }
 
     @Test
@@ -107,63 +178,50 @@ class TokenServiceTest {
     }
 
     @Test
-    void revokeAllUserTokens_shouldRevokeTokensAndRemoveFromRedisAndSaveAll() {
-        Tokens token1 = new Tokens();
-        token1.setToken("token1");
-        token1.setTokenType("ACCESS");
-        token1.setRevoked(false);
-
-        Tokens token2 = new Tokens();
-        token2.setToken("token2");
-        token2.setTokenType("REFRESH");
-        token2.setRevoked(false);
-
+    void revokeAllUserTokens_shouldWriteOneUserEpoch() {
         Users user = new Users();
-        user.setTokens(new ArrayList<>(List.of(token1, token2)));
+        user.setId(UUID.randomUUID());
 
         tokenService.revokeAllUserTokens(user);
 
-        assertTrue(token1.getRevoked());
-        assertTrue(token2.getRevoked());
-
-        verify(redisService).delete("jwt:ACCESS:token1");
-        verify(redisService).delete("jwt:REFRESH:token2");
-        verify(tokensRepository).saveAll(anyList());
+        verify(revocationEpochService).revokeUser(user.getId());
+        verifyNoInteractions(tokensRepository);
     }
 
     @Test
-    void revokeAllUserTokens_emptyTokens_shouldDoNothing() {
-        Users user = new Users();
-        user.setTokens(new ArrayList<>());
+    void revokeAllTokensBySessionId_shouldWriteOneSessionEpoch() {
+        UUID sessionId = UUID.randomUUID();
 
-        tokenService.revokeAllUserTokens(user);
+        tokenService.revokeAllTokensBySessionId(sessionId);
 
-        verify(redisService, never()).delete(any());
-        verify(tokensRepository).saveAll(eq(List.of()));
-    }
-
-    @Test
-    void generateKeyName_shouldFormatCorrectly() {
-        String result = ReflectionTestUtils.invokeMethod(tokenService, "generateKeyName", "ACCESS", "abc123");
-        assertEquals("jwt:ACCESS:abc123", result);
+        verify(revocationEpochService).revokeSession(sessionId);
+        verifyNoInteractions(tokensRepository);
     }
 
     @Test
     void refreshToken_withValidRefreshToken_returnsNewTokens() {
         UUID sessionId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
         String oldRefreshToken = "valid.refresh.token";
         Users user = new Users();
         user.setLogin("testUser");
         user.setId(UUID.randomUUID());
 
         Tokens existingToken = new Tokens();
+        existingToken.setId(UUID.randomUUID());
         existingToken.setRevoked(false);
         existingToken.setOwner(user);
         existingToken.setSessionId(sessionId);
-        existingToken.setToken(oldRefreshToken);
+        existingToken.setJti(jti);
+        existingToken.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        existingToken.setExpiresAt(LocalDateTime.now().plusHours(1));
 
-        when(tokensRepository.findByToken(oldRefreshToken)).thenReturn(Optional.of(existingToken));
+        when(jwtUtils.getClaims(oldRefreshToken)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.of(existingToken));
+        when(tokensRepository.revokeByJti(jti)).thenReturn(1);
         when(jwtUtils.generateToken(any())).thenReturn("newAccessToken").thenReturn("newRefreshToken");
+        existingToken.setTokenType("REFRESH");
+        runTransactionsInline();
 
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         tokenService.refreshToken(oldRefreshToken, responseBuilder);
@@ -173,18 +231,76 @@ class TokenServiceTest {
         assertEquals("OK", response.getMessageCode());
         assertNotNull(response.getAccessToken());
         assertNotNull(response.getRefreshToken());
+        verify(revocationEpochService).revokeSession(sessionId);
+    }
+
+    @Test
+    void refreshToken_issuedBeforeRevocationEpoch_setsUnauthorizedErrorWithoutClaimingToken() {
+        UUID sessionId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
+        String oldRefreshToken = "logged.out.token";
+        Users user = new Users();
+        user.setId(UUID.randomUUID());
+
+        Tokens existingToken = new Tokens();
+        existingToken.setRevoked(false);
+        existingToken.setOwner(user);
+        existingToken.setSessionId(sessionId);
+        existingToken.setJti(jti);
+        existingToken.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+
+        when(jwtUtils.getClaims(oldRefreshToken)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.of(existingToken));
+        when(revocationEpochService.isRevokedInDatabase(user.getId(), sessionId, existingToken.getCreatedAt())).thenReturn(true);
+        runTransactionsInline();
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        tokenService.refreshToken(oldRefreshToken, responseBuilder);
+
+        assertEquals(401, responseBuilder.build().getStatusCode());
+        verify(tokensRepository, never()).revokeByJti(any());
+        verify(jwtUtils, never()).generateToken(any());
+    }
+
+    @Test
+    void refreshToken_concurrentlyRotatedToken_setsUnauthorizedErrorWithoutIssuingTokens() {
+        UUID sessionId = UUID.randomUUID();
+        UUID jti = UUID.randomUUID();
+        String oldRefreshToken = "raced.refresh.token";
+        Tokens existingToken = new Tokens();
+        existingToken.setId(UUID.randomUUID());
+        existingToken.setRevoked(false);
+        existingToken.setOwner(new Users());
+        existingToken.setSessionId(sessionId);
+        existingToken.setJti(jti);
+
+        when(jwtUtils.getClaims(oldRefreshToken)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.of(existingToken));
+        when(tokensRepository.revokeByJti(jti)).thenReturn(0);
+        runTransactionsInline();
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        tokenService.refreshToken(oldRefreshToken, responseBuilder);
+
+        assertEquals(401, responseBuilder.build().getStatusCode());
+        verify(revocationEpochService, never()).revokeSession(any());
+        verify(jwtUtils, never()).generateToken(any());
+        verify(tokensRepository, never()).saveAll(anyList());
     }
 
     @Test
     void refreshToken_withRevokedToken_setsUnauthorizedError() {
+        UUID jti = UUID.randomUUID();
         String oldRefreshToken = "revoked.refresh.token";
         Users user = new Users();
         Tokens revokedToken = new Tokens();
         revokedToken.setRevoked(true);
         revokedToken.setOwner(user);
-        revokedToken.setToken(oldRefreshToken);
+        revokedToken.setJti(jti);
 
-        when(tokensRepository.findByToken(oldRefreshToken)).thenReturn(Optional.of(revokedToken));
+        when(jwtUtils.getClaims(oldRefreshToken)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.of(revokedToken));
+        runTransactionsInline();
 
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         tokenService.refreshToken(oldRefreshToken, responseBuilder);
@@ -198,9 +314,12 @@ class TokenServiceTest {
 
     @Test
     void refreshToken_withNonexistentToken_setsUnauthorizedError() {
+        UUID jti = UUID.randomUUID();
         String token = "nonexistent.token";
 
-        when(tokensRepository.findByToken(token)).thenReturn(Optional.empty());
+        when(jwtUtils.getClaims(token)).thenReturn(refreshClaims(jti));
+        when(tokensRepository.findByJti(jti)).thenReturn(Optional.empty());
+        runTransactionsInline();
 
         AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
         tokenService.refreshToken(token, responseBuilder);
@@ -210,4 +329,55 @@ class TokenServiceTest {
         assertEquals("INVALID_CREDENTIALS", response.getMessageCode());
         assertTrue(response.hasError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void refreshToken_withInvalidSignature_skipsDatabaseLookup() {
+        String token = "forged.refresh.token";
+
+        when(jwtUtils.getClaims(token)).thenReturn(null);
+        runTransactionsInline();
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        tokenService.refreshToken(token, responseBuilder);
+
+        assertEquals(401, responseBuilder.build().getStatusCode());
+        verify(tokensRepository, never()).findByJti(any());
+    }
+
+    @Test
+    void refreshToken_withAccessToken_setsUnauthorizedError() {
+        String token = "access.token.presented";
+
+        when(jwtUtils.getClaims(token)).thenReturn(Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .add("token_type", JWTokenType.ACCESS.name())
+                .build());
+        runTransactionsInline();
+
+        AuthResponse.Builder responseBuilder = AuthResponse.newBuilder();
+        tokenService.refreshToken(token, responseBuilder);
+
+        assertEquals(401, responseBuilder.build().getStatusCode());
+        verify(tokensRepository, never()).findByJti(any());
+    }
+
+    private String payload(JwtBuilder builder) {
+        return new String(Base64.getUrlDecoder().decode(builder.compact().split("\\.")[1]));
+    }
+
+    private void runTransactionsInline() {
+        lenient().when(retryingTransactionExecutor.execute(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(retryingTransactionExecutor).run(any());
+    }
+
+    private Claims refreshClaims(UUID jti) {
+        return Jwts.claims()
+                .id(jti.toString())
+                .add("token_type", JWTokenType.REFRESH.name())
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.secureuser.service.service;
+
+import com.secureuser.service.proto.user.auth.BatchValidateTokenResponse;
+import com.secureuser.service.proto.user.auth.ValidateTokenResponse;
+import com.secureuser.service.utils.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidationServiceTest {
+
+    private static final String ACCESS_TOKEN = "header.payload.signature";
+    private static final String SESSION_ID = UUID.randomUUID().toString();
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
+    @InjectMocks
+    private TokenValidationService tokenValidationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenValidationService, "cacheMaxSize", 100L);
+        tokenValidationService.init();
+    }
+
+    @Test
+    void validate_validAccessToken_returnsClaimsAndCachesVerification() {
+        String jti = UUID.randomUUID().toString();
+        when(jwtUtils.getClaims(ACCESS_TOKEN)).thenReturn(accessClaims(jti, "ACCESS"));
+        when(revocationEpochService.areRevoked(anyList())).thenReturn(List.of(false));
+
+        ValidateTokenResponse first = tokenValidationService.validate(ACCESS_TOKEN);
+        ValidateTokenResponse second = tokenValidationService.validate(ACCESS_TOKEN);
+
+        assertTrue(first.getValid());
+        assertEquals(200, first.getStatusCode());
+        assertEquals(jti, first.getTokenId());
+        assertEquals("user-id", first.getUserId());
+        assertEquals(List.of("USER"), first.getRolesList());
+        assertEquals(0, first.getPlatformIdsCount());
+        assertTrue(second.getValid());
+        verify(jwtUtils, times(1)).getClaims(ACCESS_TOKEN);
+        verify(revocationEpochService, times(2)).areRevoked(anyList());
+    }
+
+    @Test
+    void validate_revokedToken_returnsInvalid() {
+        String jti = UUID.randomUUID().toString();
+        when(jwtUtils.getClaims(ACCESS_TOKEN)).thenReturn(accessClaims(jti, "ACCESS"));
+        when(revocationEpochService.areRevoked(anyList())).thenReturn(List.of(true));
+
+        ValidateTokenResponse response = tokenValidationService.validate(ACCESS_TOKEN);
+
+        assertFalse(response.getValid());
+        assertEquals(401, response.getStatusCode());
+        assertEquals("INVALID_TOKEN", response.getMessageCode());
+    }
+
+    @Test
+    void validate_refreshToken_isRejected() {
+        when(jwtUtils.getClaims(ACCESS_TOKEN)).thenReturn(accessClaims(UUID.randomUUID().toString(), "REFRESH"));
+
+        ValidateTokenResponse response = tokenValidationService.validate(ACCESS_TOKEN);
+
+        assertFalse(response.getValid());
+        verifyNoInteractions(revocationEpochService);
+    }
+
+    @Test
+    void validate_blankToken_returnsBadRequest() {
+        ValidateTokenResponse response = tokenValidationService.validate(" ");
+
+        assertEquals(400, response.getStatusCode());
+        verify(jwtUtils, never()).getClaims(anyString());
+    }
+
+    @Test
+    void validateAll_returnsResultPerToken() {
+        String jti = UUID.randomUUID().toString();
+        when(jwtUtils.getClaims(ACCESS_TOKEN)).thenReturn(accessClaims(jti, "ACCESS"));
+        when(jwtUtils.getClaims("forged.token.value")).thenReturn(null);
+        when(revocationEpochService.areRevoked(anyList())).thenReturn(List.of(false));
+
+        BatchValidateTokenResponse response = tokenValidationService.validateAll(List.of(ACCESS_TOKEN, "forged.token.value"));
+
+        assertEquals(2, response.getResultsCount());
+        assertTrue(response.getResults(0).getValid());
+        assertFalse(response.getResults(1).getValid());
+        verify(revocationEpochService, times(1)).areRevoked(anyList());
+    }
+
+    @Test
+    void validate_redisUnavailable_failsClosed() {
+        when(jwtUtils.getClaims(ACCESS_TOKEN)).thenReturn(accessClaims(UUID.randomUUID().toString(), "ACCESS"));
+        when(revocationEpochService.areRevoked(anyList())).thenThrow(new IllegalStateException("connection refused"));
+
+        ValidateTokenResponse response = tokenValidationService.validate(ACCESS_TOKEN);
+
+        assertFalse(response.getValid());
+    }
+
+    private Claims accessClaims(String jti, String tokenType) {
+        return Jwts.claims()
+                .id(jti)
+                .subject("user-id")
+                .issuedAt(new Date(System.currentTimeMillis() - 1000))
+                .expiration(new Date(System.currentTimeMillis() + 60000))
+                .add("token_type", tokenType)
+                .add("session_id", SESSION_ID)
+                .add("roles", List.of("USER"))
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.secureuser.service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.secureuser.service.dto.IssuedToken;
+import com.secureuser.service.dto.RedisEntry;
+import com.secureuser.service.model.Tokens;
+import com.secureuser.service.model.Users;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenWriteBehindQueueTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisService redisService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private TokenWriteBehindQueue tokenWriteBehindQueue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "enabled", true);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "queueCapacity", 10);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "batchSize", 2);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "flushInterval", 5L);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "maxFlushAttempts", 2);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "pendingTtl", 300L);
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "shutdownTimeout", 1000L);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(retryingTransactionExecutor).run(any());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        tokenWriteBehindQueue.shutdown();
+    }
+
+    @Test
+    void submit_recordsPendingRefreshTokenAndFlushesInOneBatch() {
+        ReflectionTestUtils.setField(tokenWriteBehindQueue, "flushInterval", 200L);
+        when(redisService.saveAllIfAbsent(anyList())).thenReturn(true);
+        tokenWriteBehindQueue.init();
+
+        tokenWriteBehindQueue.submit(List.of(token("ACCESS"), token("REFRESH")));
+
+        ArgumentCaptor<List<RedisEntry>> pending = ArgumentCaptor.forClass(List.class);
+        verify(redisService).saveAllIfAbsent(pending.capture());
+        assertEquals(1, pending.getValue().size());
+        assertTrue(pending.getValue().get(0).getKey().startsWith("jwt:pending:"));
+
+        verify(jdbcTemplate, timeout(1000)).batchUpdate(anyString(), anyList(), eq(2), any());
+        verify(outboxService, timeout(1000)).recordAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void submit_redisUnavailable_writesSynchronously() {
+        when(redisService.saveAllIfAbsent(anyList())).thenReturn(false);
+        tokenWriteBehindQueue.init();
+
+        tokenWriteBehindQueue.submit(List.of(token("ACCESS"), token("REFRESH")));
+
+        assertEquals(0, tokenWriteBehindQueue.getQueueDepth());
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    void drain_permanentlyFailingRow_isDroppedWithoutStallingLaterTokens() {
+        Tokens poison = token("ACCESS");
+        Tokens healthy = token("ACCESS");
+        Tokens later = token("ACCESS");
+        when(redisService.saveAllIfAbsent(anyList())).thenReturn(true);
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), argThat(contains(poison)), anyInt(), any()))
+                .thenThrow(new DataIntegrityViolationException("violates check constraint"));
+        tokenWriteBehindQueue.init();
+
+        tokenWriteBehindQueue.submit(List.of(poison, healthy));
+
+        verify(jdbcTemplate, timeout(1000)).batchUpdate(anyString(), argThat(contains(healthy)), eq(1), any());
+        tokenWriteBehindQueue.submit(List.of(later));
+        verify(jdbcTemplate, timeout(1000)).batchUpdate(anyString(), argThat(contains(later)), anyInt(), any());
+        assertEquals(0, tokenWriteBehindQueue.getQueueDepth());
+    }
+
+    @Test
+    void findPending_readsTokenBackFromRedis() throws Exception {
+        tokenWriteBehindQueue.init();
+        IssuedToken issued = IssuedToken.from(token("REFRESH"));
+        String json = objectMapper.writeValueAsString(issued);
+        when(redisService.get("jwt:pending:" + issued.getJti())).thenReturn(Optional.of(json));
+
+        Optional<IssuedToken> pending = tokenWriteBehindQueue.findPending(issued.getJti());
+
+        assertTrue(pending.isPresent());
+        assertEquals(issued.getSessionId(), pending.get().getSessionId());
+        assertEquals(issued.getExpiresAt(), pending.get().getExpiresAt());
+    }
+
+    private ArgumentMatcher<Collection<IssuedToken>> contains(Tokens token) {
+        return batch -> batch != null && batch.stream().anyMatch(issued -> issued.getJti().equals(token.getJti()));
+    }
+
+    private Tokens token(String tokenType) {
+        Users owner = new Users();
+        owner.setId(UUID.randomUUID());
+
+        Tokens token = new Tokens();
+        token.setJti(UUID.randomUUID());
+        token.setOwner(owner);
+        token.setSessionId(UUID.randomUUID());
+        token.setTokenType(tokenType);
+        token.setToken(tokenType.toLowerCase() + "-jwt");
+        token.setCreatedAt(LocalDateTime.now());
+        token.setExpiresAt(LocalDateTime.now().plusHours(1));
+        return token;
+    }
+}
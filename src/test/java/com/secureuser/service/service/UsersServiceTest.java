@@ -1,16 +1,27 @@
 package com.secureuser.service.service;
 
+import com.secureuser.service.cache.UserCache;
+import com.secureuser.service.constants.AuthEventType;
+import com.secureuser.service.dto.CachedUser;
+import com.secureuser.service.dto.VerifiedUser;
 import com.secureuser.service.exception.DatabaseOperationException;
+import com.secureuser.service.metrics.AuthMetrics;
 import com.secureuser.service.model.Users;
 import com.secureuser.service.repository.UsersRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -19,7 +30,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,33 +45,91 @@ class UsersServiceTest {
     private UsersRepository usersRepository;
 
     @Mock
-    private BCryptPasswordEncoder encoder;
+    private PasswordEncoder encoder;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private RetryingTransactionExecutor retryingTransactionExecutor;
+
+    @Spy
+    private AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private OutboxService outboxService;
 
     @InjectMocks
     private UsersService usersService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(passwordHashingExecutor.compute(any())).thenAnswer(UsersServiceTest::runSupplier);
+        lenient().when(retryingTransactionExecutor.execute(any())).thenAnswer(UsersServiceTest::runSupplier);
+    }
+
     @Test
     void testSave_Success() throws DatabaseOperationException {
         when(encoder.encode(anyString())).thenReturn("encodedPassword");
-        when(usersRepository.save(any(Users.class))).thenReturn(new Users());
-        assertDoesNotThrow(() -> usersService.save("testLogin", "test@example.com", "password"));
+        when(usersRepository.insertIfAbsent("test@example.com", "testLogin", "encodedPassword")).thenReturn(Optional.of(UUID.randomUUID()));
+        assertTrue(usersService.save("testLogin", "test@example.com", "password"));
+        verify(usersRepository, never()).existsByLoginOrEmail(anyString(), anyString());
+        verify(outboxService).record(argThat(event -> event.getType() == AuthEventType.USER_REGISTERED));
+    }
+
+    @Test
+    void testSave_Conflict() throws DatabaseOperationException {
+        when(encoder.encode(anyString())).thenReturn("encodedPassword");
+        when(usersRepository.insertIfAbsent("test@example.com", "testLogin", "encodedPassword")).thenReturn(Optional.empty());
+        assertFalse(usersService.save("testLogin", "test@example.com", "password"));
+        verify(outboxService, never()).record(any());
     }
 
     @Test
     void testSave_Failure() {
         when(encoder.encode(anyString())).thenReturn("encodedPassword");
-        doThrow(new RuntimeException("DB error")).when(usersRepository).save(any(Users.class));
+        doThrow(new RuntimeException("DB error")).when(usersRepository).insertIfAbsent(anyString(), anyString(), anyString());
         DatabaseOperationException exception = assertThrows(DatabaseOperationException.class,
                 () -> usersService.save("testLogin", "test@example.com", "password"));
         assertEquals("An error occurred while saving a user", exception.getMessage());
     }
 
+    @Test
+    void testFindByIdentifier_EmailShape_QueriesEmailOnly() {
+        Users user = new Users();
+        user.setLogin("testLogin");
+        user.setEmail("test@example.com");
+        when(usersRepository.findByLowerEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userCache.getByEmail(eq("test@example.com"), any())).thenAnswer(this::loadThroughCache);
+
+        Optional<CachedUser> result = usersService.findByIdentifier(" Test@Example.COM ");
+
+        assertTrue(result.isPresent());
+        verify(usersRepository, never()).findByLowerLogin(anyString());
+    }
+
+    @Test
+    void testFindByIdentifier_LoginShape_QueriesLoginOnly() {
+        when(usersRepository.findByLowerLogin("testlogin")).thenReturn(Optional.empty());
+        when(userCache.getByLogin(eq("testlogin"), any())).thenAnswer(this::loadThroughCache);
+
+        Optional<CachedUser> result = usersService.findByIdentifier("TestLogin");
+
+        assertFalse(result.isPresent());
+        verify(usersRepository, never()).findByLowerEmail(anyString());
+    }
+
     @Test
     void testUpdate_Success() throws DatabaseOperationException {
         Users user = new Users();
         user.setLogin("testLogin");
+        user.setEmail("test@example.com");
         when(usersRepository.save(any(Users.class))).thenReturn(user);
         assertDoesNotThrow(() -> usersService.update(user));
+        verify(userCache).invalidate("testLogin", "test@example.com");
     }
 
     @Test
@@ -68,6 +142,42 @@ class UsersServiceTest {
         assertEquals("An error occurred while update a user", exception.getMessage());
     }
 
+    @Test
+    void testMarkVerified_InvalidatesCachedUser() throws DatabaseOperationException {
+        UUID id = UUID.randomUUID();
+        when(usersRepository.markVerified("testlogin")).thenReturn(Optional.of(verifiedUser(id, "test@example.com")));
+
+        assertTrue(usersService.markVerified("testLogin"));
+        verify(userCache).invalidate("testLogin", "test@example.com");
+        verify(outboxService).record(argThat(event -> event.getType() == AuthEventType.USER_VERIFIED && id.equals(event.getUserId())));
+    }
+
+    @Test
+    void testMarkVerified_UnknownLogin() throws DatabaseOperationException {
+        when(usersRepository.markVerified("ghost")).thenReturn(Optional.empty());
+
+        assertFalse(usersService.markVerified("ghost"));
+        verify(userCache, never()).invalidate(anyString(), anyString());
+    }
+
+    @Test
+    void testUpdatePasswordHash_ReplacesHashAndInvalidatesCache() {
+        CachedUser user = new CachedUser(UUID.randomUUID(), "testLogin", "test@example.com", "{bcrypt}old", true);
+        when(usersRepository.updatePasswordHash(user.getId(), "{bcrypt}old", "{argon2}new")).thenReturn(1);
+
+        assertTrue(usersService.updatePasswordHash(user, "{argon2}new"));
+        verify(userCache).invalidate("testLogin", "test@example.com");
+    }
+
+    @Test
+    void testUpdatePasswordHash_ConcurrentPasswordChange() {
+        CachedUser user = new CachedUser(UUID.randomUUID(), "testLogin", "test@example.com", "{bcrypt}old", true);
+        when(usersRepository.updatePasswordHash(user.getId(), "{bcrypt}old", "{argon2}new")).thenReturn(0);
+
+        assertFalse(usersService.updatePasswordHash(user, "{argon2}new"));
+        verify(userCache, never()).invalidate(anyString(), anyString());
+    }
+
     @Test
     void testFindByLogin_Found() {
         Users user = new Users();
@@ -91,4 +201,26 @@ class UsersServiceTest {
         boolean exists = usersService.existsByLoginOrEmail("testLogin", "test@example.com");
         assertTrue(exists);
     }
-}
\ No newline at end of file
+
+    private VerifiedUser verifiedUser(UUID id, String email) {
+        return new VerifiedUser() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+
+    private Optional<CachedUser> loadThroughCache(InvocationOnMock invocation) {
+        return invocation.<Supplier<Optional<CachedUser>>>getArgument(1).get();
+    }
+
+    private static Object runSupplier(InvocationOnMock invocation) {
+        return invocation.<Supplier<?>>getArgument(0).get();
+    }
+}
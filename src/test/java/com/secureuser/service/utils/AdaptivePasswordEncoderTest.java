@@ -0,0 +1,53 @@
+package com.secureuser.service.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptivePasswordEncoderTest {
+
+    private final AdaptivePasswordEncoder bcrypt = new AdaptivePasswordEncoder(AdaptivePasswordEncoder.BCRYPT, 5, 1024, 1, 1);
+    private final AdaptivePasswordEncoder argon2 = new AdaptivePasswordEncoder(AdaptivePasswordEncoder.ARGON2, 5, 1024, 1, 1);
+
+    @Test
+    void encode_prefixesHashWithAlgorithmId() {
+        String bcryptHash = bcrypt.encode("password");
+        String argon2Hash = argon2.encode("password");
+
+        assertTrue(bcryptHash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(argon2Hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(bcrypt.matches("password", bcryptHash));
+        assertTrue(argon2.matches("password", argon2Hash));
+        assertFalse(argon2.matches("wrong", argon2Hash));
+    }
+
+    @Test
+    void matches_verifiesHashesOfOtherAlgorithmsCostsAndLegacyUnprefixedBcrypt() {
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+
+        assertTrue(argon2.matches("password", legacy));
+        assertTrue(argon2.matches("password", bcrypt.encode("password")));
+        assertTrue(bcrypt.matches("password", argon2.encode("password")));
+    }
+
+    @Test
+    void upgradeEncoding_whenStoredParametersDifferFromTarget() {
+        assertFalse(bcrypt.upgradeEncoding(bcrypt.encode("password")));
+        assertFalse(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password")));
+        assertTrue(bcrypt.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertTrue(bcrypt.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("password")));
+        assertTrue(bcrypt.upgradeEncoding(argon2.encode("password")));
+
+        assertFalse(argon2.upgradeEncoding(argon2.encode("password")));
+        assertTrue(argon2.upgradeEncoding(bcrypt.encode("password")));
+        assertTrue(argon2.upgradeEncoding(new AdaptivePasswordEncoder(AdaptivePasswordEncoder.ARGON2, 5, 2048, 1, 1).encode("password")));
+    }
+
+    @Test
+    void constructor_rejectsUnknownAlgorithm() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePasswordEncoder("md5", 10, 1024, 1, 1));
+    }
+}
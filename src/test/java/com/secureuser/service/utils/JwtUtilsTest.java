@@ -2,16 +2,21 @@ package com.secureuser.service.utils;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.WeakKeyException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,13 +29,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @ExtendWith(MockitoExtension.class)
 class JwtUtilsTest {
 
+    private static final String SECRET = "/4afOnYUAAMwSmcZIfAvJbMD695iFoRfce8oYRk5kjZMoLyrTltfOqWv46t4nKqElRBcFnRtNyEksF6jO4Ep2A==";
+
     @InjectMocks
     private JwtUtils jwtUtils;
 
+    @TempDir
+    private Path keyDirectory;
+
     @BeforeEach
     void setUp() {
-        String secret = "/4afOnYUAAMwSmcZIfAvJbMD695iFoRfce8oYRk5kjZMoLyrTltfOqWv46t4nKqElRBcFnRtNyEksF6jO4Ep2A==";
-        ReflectionTestUtils.setField(jwtUtils, "secret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "algorithm", "HS512");
         jwtUtils.init();
     }
 
@@ -116,6 +126,7 @@ class JwtUtilsTest {
         String shortSecret = "too-short-key";
 
         ReflectionTestUtils.setField(shortKeyJwtUtils, "secret", shortSecret);
+        ReflectionTestUtils.setField(shortKeyJwtUtils, "algorithm", "HS512");
 
         assertThrows(WeakKeyException.class, shortKeyJwtUtils::init);
     }
@@ -129,5 +140,75 @@ class JwtUtilsTest {
 
         String headerJson = new String(java.util.Base64.getUrlDecoder().decode(parts[0]));
         assertTrue(headerJson.contains("\"alg\":\"HS512\""));
+        assertTrue(jwtUtils.getPublicJwks().isEmpty());
+    }
+
+    @Test
+    void es256_signsWithActiveKidAndVerifiesRetiredKeys() throws Exception {
+        JwtSigningKeyGenerator.main(new String[]{"ES256", keyDirectory.toString(), "2026-01"});
+        String oldToken = asymmetricJwtUtils("ES256", "2026-01").generateToken(validBuilder());
+        JwtSigningKeyGenerator.main(new String[]{"ES256", keyDirectory.toString(), "2026-02"});
+        Files.delete(keyDirectory.resolve("2026-01.key"));
+
+        JwtUtils rotated = asymmetricJwtUtils("ES256", "2026-02");
+        String newToken = rotated.generateToken(validBuilder());
+
+        assertTrue(header(newToken).contains("\"kid\":\"2026-02\""));
+        assertTrue(header(newToken).contains("\"alg\":\"ES256\""));
+        assertTrue(rotated.isTokenValid(newToken));
+        assertTrue(rotated.isTokenValid(oldToken));
+        assertEquals(List.of("2026-01", "2026-02"), rotated.getPublicJwks().stream().map(jwk -> jwk.get("kid")).toList());
+        assertEquals("P-256", rotated.getPublicJwks().get(0).get("crv"));
+    }
+
+    @Test
+    void eddsa_acceptsLegacyHmacTokensOnlyWithFallback() throws Exception {
+        String legacyToken = generateValidToken();
+        JwtSigningKeyGenerator.main(new String[]{"EdDSA", keyDirectory.toString(), "ed-1"});
+
+        JwtUtils eddsa = asymmetricJwtUtils("EdDSA", "ed-1");
+        String token = eddsa.generateToken(validBuilder());
+
+        assertTrue(header(token).contains("\"alg\":\"EdDSA\""));
+        assertTrue(eddsa.isTokenValid(token));
+        assertTrue(eddsa.isTokenValid(legacyToken));
+        assertEquals("OKP", eddsa.getPublicJwks().get(0).get("kty"));
+
+        ReflectionTestUtils.setField(eddsa, "hmacFallback", false);
+        eddsa.init();
+        assertFalse(eddsa.isTokenValid(legacyToken));
+    }
+
+    @Test
+    void asymmetric_rejectsUnknownKid() throws Exception {
+        JwtSigningKeyGenerator.main(new String[]{"ES256", keyDirectory.toString(), "current"});
+        String token = asymmetricJwtUtils("ES256", "current").generateToken(validBuilder());
+        Files.move(keyDirectory.resolve("current.pub"), keyDirectory.resolve("other.pub"));
+        Files.move(keyDirectory.resolve("current.key"), keyDirectory.resolve("other.key"));
+
+        assertNull(asymmetricJwtUtils("ES256", "other").getClaims(token));
+    }
+
+    private JwtUtils asymmetricJwtUtils(String algorithm, String activeKeyId) {
+        JwtUtils asymmetric = new JwtUtils();
+        ReflectionTestUtils.setField(asymmetric, "secret", SECRET);
+        ReflectionTestUtils.setField(asymmetric, "algorithm", algorithm);
+        ReflectionTestUtils.setField(asymmetric, "keyDirectory", keyDirectory.toString());
+        ReflectionTestUtils.setField(asymmetric, "activeKeyId", activeKeyId);
+        ReflectionTestUtils.setField(asymmetric, "hmacFallback", true);
+        asymmetric.init();
+        return asymmetric;
+    }
+
+    private JwtBuilder validBuilder() {
+        return Jwts.builder()
+                .subject("user123")
+                .id(UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60000));
+    }
+
+    private String header(String token) {
+        return new String(java.util.Base64.getUrlDecoder().decode(token.split("\\.")[0]));
     }
 }
\ No newline at end of file